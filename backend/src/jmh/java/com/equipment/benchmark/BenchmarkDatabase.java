@@ -0,0 +1,110 @@
+package com.equipment.benchmark;
+
+import com.equipment.EquipmentApplication;
+import com.equipment.model.Benutzer;
+import com.equipment.repository.BenutzerRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.testcontainers.containers.MySQLContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The application booted against MySQL, for benchmarks that go through the services and the
+ * database. Uses the database in {@code -Dbenchmark.jdbc-url} (with {@code benchmark.username}
+ * and {@code benchmark.password}) if set, otherwise a throwaway mysql:8.0 container, which
+ * needs a Docker daemon. Flyway migrates the schema on startup.
+ */
+final class BenchmarkDatabase implements AutoCloseable {
+
+    private final MySQLContainer<?> container;
+    private final ConfigurableApplicationContext context;
+    // Keeps names unique when benchmarks are rerun against the same external database
+    private final String run = Integer.toString(ThreadLocalRandom.current().nextInt(36 * 36 * 36), 36);
+
+    private BenchmarkDatabase(MySQLContainer<?> container, String url, String username, String password) {
+        this.container = container;
+        this.context = new SpringApplicationBuilder(EquipmentApplication.class)
+                .properties(
+                        "spring.datasource.url=" + url,
+                        "spring.datasource.username=" + username,
+                        "spring.datasource.password=" + password,
+                        "server.port=0",
+                        "auth.password.calibrate-on-startup=false",
+                        "logging.level.root=WARN",
+                        "logging.level.org.hibernate.orm.jdbc.bind=WARN")
+                .run();
+    }
+
+    static BenchmarkDatabase start() {
+        String url = System.getProperty("benchmark.jdbc-url");
+        if (url != null) {
+            return new BenchmarkDatabase(null, url,
+                    System.getProperty("benchmark.username", "root"), System.getProperty("benchmark.password", ""));
+        }
+        MySQLContainer<?> container = new MySQLContainer<>("mysql:8.0");
+        container.start();
+        return new BenchmarkDatabase(container, container.getJdbcUrl(), container.getUsername(), container.getPassword());
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    JdbcTemplate jdbc() {
+        return context.getBean(JdbcTemplate.class);
+    }
+
+    /**
+     * Inserts {@code count} users with names starting with the prefix and returns them as loaded by JPA.
+     */
+    List<Benutzer> createUsers(String prefix, int count) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{prefix + run + i});
+        }
+        jdbc().batchUpdate("INSERT INTO benutzer (benutzername, vorname, nachname, password_hash, password_salt) "
+                + "VALUES (?, 'Bench', 'Mark', x'00', x'00')", rows);
+        BenutzerRepository benutzerRepository = bean(BenutzerRepository.class);
+        List<Benutzer> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(benutzerRepository.findByBenutzername(prefix + run + i).orElseThrow());
+        }
+        return users;
+    }
+
+    /**
+     * Inserts {@code count} available items with inventory numbers starting with the prefix and
+     * returns their ids in order.
+     */
+    List<Integer> createEquipment(String prefix, int count) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{prefix + run + "-" + i, "Bench item " + i});
+        }
+        jdbc().batchUpdate("INSERT INTO equipment (inventarnummer, bezeichnung) VALUES (?, ?)", rows);
+        return jdbc().queryForList("SELECT id FROM equipment WHERE inventarnummer LIKE ? ORDER BY id",
+                Integer.class, prefix + run + "-%");
+    }
+
+    /**
+     * Makes the user the authenticated principal of the calling thread, as the JWT filter would.
+     */
+    static void signIn(Benutzer benutzer) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(benutzer, null, List.of()));
+    }
+
+    @Override
+    public void close() {
+        context.close();
+        if (container != null) {
+            container.stop();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.equipment.benchmark;
+
+import com.equipment.exception.EquipmentException;
+import com.equipment.model.Benutzer;
+import com.equipment.service.AusleiheService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Many users going for the same few items at once: each thread borrows a random item from a
+ * small pool and returns it straight away. Reports successful borrows per second and the
+ * transactions lost to the conditional-UPDATE claim (409 conflicts), which roll back after a
+ * single statement instead of failing on the ausleihe unique key.
+ * <p>
+ * Needs MySQL, see {@link BenchmarkDatabase}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+public class BorrowContentionBenchmark {
+
+    // Items all threads compete for; 1 is the worst case
+    @Param({"1", "4", "16"})
+    public int items;
+
+    private BenchmarkDatabase database;
+    private AusleiheService ausleiheService;
+    private List<Benutzer> users;
+    private List<Integer> itemIds;
+    private final AtomicInteger nextUser = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = BenchmarkDatabase.start();
+        ausleiheService = database.bean(AusleiheService.class);
+        users = database.createUsers("contend", 64);
+        itemIds = database.createEquipment("CONTEND", items);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Caller {
+        @Setup(Level.Trial)
+        public void signIn(BorrowContentionBenchmark benchmark) {
+            BenchmarkDatabase.signIn(benchmark.users.get(benchmark.nextUser.getAndIncrement() % benchmark.users.size()));
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Outcomes {
+        public long borrowed;
+        public long conflicts;
+    }
+
+    @Benchmark
+    public void borrowAndReturn(Caller caller, Outcomes outcomes) {
+        Integer id = itemIds.get(ThreadLocalRandom.current().nextInt(itemIds.size()));
+        try {
+            ausleiheService.borrowEquipment(id, LocalDate.now().plusDays(7));
+        } catch (EquipmentException e) {
+            if (e.getStatus() != HttpStatus.CONFLICT) {
+                throw e;
+            }
+            outcomes.conflicts++;
+            return;
+        }
+        outcomes.borrowed++;
+        ausleiheService.returnEquipment(id);
+    }
+}
@@ -0,0 +1,80 @@
+package com.equipment.benchmark;
+
+import com.equipment.model.Benutzer;
+import com.equipment.service.AusleiheService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One borrow plus one return of the same item while the ausleihe table holds 1k, 10k or 100k
+ * other open loans. With the indexed lookups the time per round trip should not grow with the
+ * table; the findAll() scans it replaced grew linearly.
+ * <p>
+ * Needs MySQL, see {@link BenchmarkDatabase}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class BorrowReturnScalingBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int openLoans;
+
+    private BenchmarkDatabase database;
+    private AusleiheService ausleiheService;
+    private Integer probeId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = BenchmarkDatabase.start();
+        ausleiheService = database.bean(AusleiheService.class);
+
+        List<Benutzer> users = database.createUsers("scale", 2);
+        List<Integer> lent = database.createEquipment("LENT", openLoans);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> loans = new ArrayList<>(lent.size());
+        for (Integer id : lent) {
+            loans.add(new Object[]{users.get(0).getId(), id, now});
+        }
+        database.jdbc().batchUpdate("INSERT INTO ausleihe (benutzer_id, equipment_id, ausleihe, expected_return_date) "
+                + "VALUES (?, ?, ?, CURRENT_DATE + INTERVAL 14 DAY)", loans);
+        database.jdbc().update("UPDATE equipment SET status = 'BORROWED' WHERE id IN "
+                + "(SELECT equipment_id FROM ausleihe WHERE benutzer_id = ?)", users.get(0).getId());
+        database.jdbc().execute("ANALYZE TABLE ausleihe, equipment");
+
+        probeId = database.createEquipment("PROBE", 1).get(0);
+        BenchmarkDatabase.signIn(users.get(1));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public void borrowAndReturn() {
+        ausleiheService.borrowEquipment(probeId, LocalDate.now().plusDays(7));
+        ausleiheService.returnEquipment(probeId);
+    }
+}
@@ -0,0 +1,95 @@
+package com.equipment.benchmark;
+
+import com.equipment.model.AccountStatus;
+import com.equipment.model.Benutzer;
+import com.equipment.model.Role;
+import com.equipment.security.JwtService;
+import com.equipment.security.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokens verified per second on one thread: {@link JwtService#verify} against the previous
+ * path, which built the key and a parser on every call and parsed each token twice
+ * (validateToken, then extractUsername). The expired case shows the cost of the exception the
+ * old path threw.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JwtVerifyBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+
+    private JwtService jwtService;
+    private String validToken;
+    private String expiredToken;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Benutzer benutzer = new Benutzer();
+        benutzer.setId(42);
+        benutzer.setBenutzername("benchmark");
+        benutzer.setRole(Role.USER);
+        benutzer.setAccountStatus(AccountStatus.ACTIVE);
+
+        jwtService = new JwtService(SECRET, 900_000);
+        validToken = jwtService.generateToken(benutzer);
+        expiredToken = new JwtService(SECRET, -60_000).generateToken(benutzer);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyValid() {
+        return jwtService.verify(validToken);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyExpired() {
+        return jwtService.verify(expiredToken);
+    }
+
+    @Benchmark
+    public String previousValid() {
+        return previousVerify(validToken);
+    }
+
+    @Benchmark
+    public String previousExpired() {
+        try {
+            return previousVerify(expiredToken);
+        } catch (JwtException e) {
+            return null;
+        }
+    }
+
+    // What the filter did per request before the single-pass verify
+    private static String previousVerify(String token) {
+        try {
+            Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes())).build().parseClaimsJws(token);
+        } catch (ExpiredJwtException e) {
+            throw new JwtException("JWT token has expired", e);
+        }
+        Claims claims = Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes())).build()
+                .parseClaimsJws(token).getBody();
+        return claims.getSubject();
+    }
+}
@@ -0,0 +1,51 @@
+package com.equipment.benchmark;
+
+import com.equipment.config.SecurityConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashes per second on one thread for each work factor the configured encoder can use, to size
+ * pods against auth.password.target-latency-ms. Uses the same delegating encoder as the
+ * application; {@code strength} only applies to bcrypt, pbkdf2 has fixed defaults.
+ * Verifying a password costs the same as hashing it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 1, time = 5)
+@Measurement(iterations = 3, time = 5)
+public class PasswordHashBenchmark {
+
+    @Param({"bcrypt"})
+    public String encoder;
+
+    @Param({"8", "10", "12"})
+    public int strength;
+
+    private PasswordEncoder passwordEncoder;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        passwordEncoder = new SecurityConfig(null, null).passwordEncoder(encoder, strength);
+    }
+
+    @Benchmark
+    public String hash() {
+        return passwordEncoder.encode("correct horse battery staple");
+    }
+}
@@ -0,0 +1,100 @@
+package com.equipment.benchmark;
+
+import com.equipment.model.Equipment;
+import com.equipment.repository.EquipmentRepository;
+import com.equipment.service.EquipmentReadModels;
+import com.equipment.service.EquipmentSearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One page of a term search over 100k items, in process: the inverted index against a scan that
+ * does what {@code lower(col) LIKE '%term%'} does for every row (the page and its count both
+ * need all rows). The scan leaves out I/O and SQL overhead, so it is a lower bound for the
+ * LIKE query; {@link SearchModeBenchmark} measures the database paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SearchIndexBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"100000"})
+    public int items;
+
+    // A common word, a word fragment and a code that matches one item
+    @Param({"laptop", "apto", "inv-054321"})
+    public String query;
+
+    private List<Equipment> all;
+    private EquipmentSearchIndex index;
+    private EquipmentReadModels readModels;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        all = SyntheticEquipment.generate(items);
+        EquipmentRepository repository = Mockito.mock(EquipmentRepository.class);
+        Mockito.when(repository.findAll()).thenReturn(all);
+        index = new EquipmentSearchIndex(new SimpleMeterRegistry(), true);
+        readModels = new EquipmentReadModels(repository, List.of(index));
+        readModels.refresh();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        readModels.shutdown();
+    }
+
+    @Benchmark
+    public List<EquipmentSearchIndex.Hit> index() {
+        List<EquipmentSearchIndex.Hit> hits = index.search(query, e -> true).orElseThrow();
+        hits.sort(Comparator.comparingDouble(EquipmentSearchIndex.Hit::score).reversed());
+        return hits.subList(0, Math.min(PAGE_SIZE, hits.size()));
+    }
+
+    @Benchmark
+    public void scan(Blackhole blackhole) {
+        String term = query.toLowerCase(Locale.ROOT);
+        List<Equipment> page = new ArrayList<>(PAGE_SIZE);
+        long total = 0;
+        for (Equipment equipment : all) {
+            if (contains(equipment.getInventarnummer(), term) || contains(equipment.getBezeichnung(), term)
+                    || contains(equipment.getDescription(), term)) {
+                total++;
+                if (page.size() < PAGE_SIZE) {
+                    page.add(equipment);
+                }
+            }
+        }
+        blackhole.consume(page);
+        blackhole.consume(total);
+    }
+
+    private static boolean contains(String value, String term) {
+        return value != null && value.toLowerCase(Locale.ROOT).contains(term);
+    }
+}
@@ -0,0 +1,81 @@
+package com.equipment.benchmark;
+
+import com.equipment.dto.EquipmentSearchRequest;
+import com.equipment.dto.SearchMode;
+import com.equipment.model.Equipment;
+import com.equipment.service.EquipmentReadModels;
+import com.equipment.service.EquipmentSearchService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One page of an equipment term search over 100k rows through {@link EquipmentSearchService}
+ * in each search mode: the in-memory index, MySQL FULLTEXT and the LIKE table scan.
+ * <p>
+ * Needs MySQL, see {@link BenchmarkDatabase}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class SearchModeBenchmark {
+
+    @Param({"100000"})
+    public int items;
+
+    @Param({"INDEX", "FULLTEXT", "LIKE"})
+    public SearchMode mode;
+
+    @Param({"laptop", "apto", "inv-054321"})
+    public String query;
+
+    private BenchmarkDatabase database;
+    private EquipmentSearchService searchService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = BenchmarkDatabase.start();
+        searchService = database.bean(EquipmentSearchService.class);
+
+        List<Object[]> rows = new ArrayList<>(items);
+        for (Equipment equipment : SyntheticEquipment.generate(items)) {
+            rows.add(new Object[]{equipment.getInventarnummer(), equipment.getBezeichnung(),
+                    equipment.getDescription(), equipment.getCategory().name()});
+        }
+        database.jdbc().batchUpdate(
+                "INSERT INTO equipment (inventarnummer, bezeichnung, description, category) VALUES (?, ?, ?, ?)", rows);
+        database.jdbc().execute("ANALYZE TABLE equipment");
+        database.bean(EquipmentReadModels.class).refresh();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public Page<Equipment> search() {
+        EquipmentSearchRequest request = new EquipmentSearchRequest();
+        request.setSearchTerm(query);
+        request.setSearchMode(mode);
+        return searchService.search(request);
+    }
+}
@@ -0,0 +1,50 @@
+package com.equipment.benchmark;
+
+import com.equipment.model.ConditionStatus;
+import com.equipment.model.Equipment;
+import com.equipment.model.EquipmentCategory;
+import com.equipment.model.EquipmentStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Reproducible equipment rows for the search benchmarks: brand and model names with a number,
+ * and a short description drawn from a small vocabulary, so common words match many items and
+ * generated codes and serial numbers match few.
+ */
+final class SyntheticEquipment {
+
+    private static final String[] BRANDS = {"Dell", "Lenovo", "HP", "Canon", "Sony", "Cisco", "Epson", "Apple", "Logitech", "Samsung"};
+    private static final String[] MODELS = {"Laptop", "Monitor", "Kamera", "Beamer", "Switch", "Headset", "Dock", "Tablet", "Drucker", "Mikrofon"};
+    private static final String[] WORDS = {"schwarz", "grau", "neu", "gebraucht", "Raum", "Labor", "Akku", "Netzteil", "Tasche",
+            "Kabel", "Adapter", "Stativ", "Objektiv", "Lizenz", "Garantie", "Zubehör", "Ersatzteil", "Fernbedienung"};
+
+    private SyntheticEquipment() {
+    }
+
+    static List<Equipment> generate(int count) {
+        Random random = new Random(20_000);
+        List<Equipment> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Equipment equipment = new Equipment();
+            equipment.setId(i + 1);
+            equipment.setInventarnummer(String.format("INV-%06d", i));
+            equipment.setSerialNumber(String.format("SN-%07d", i * 7919L % 10_000_000));
+            equipment.setBezeichnung(BRANDS[random.nextInt(BRANDS.length)] + " " + MODELS[random.nextInt(MODELS.length)]
+                    + " " + random.nextInt(100));
+            StringBuilder description = new StringBuilder();
+            for (int w = 0; w < 8; w++) {
+                description.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+            }
+            description.append("SN").append(Integer.toString(random.nextInt(1 << 30), 36));
+            equipment.setDescription(description.toString());
+            equipment.setCategory(EquipmentCategory.values()[random.nextInt(EquipmentCategory.values().length)]);
+            equipment.setStatus(EquipmentStatus.AVAILABLE);
+            equipment.setConditionStatus(ConditionStatus.GOOD);
+            items.add(equipment);
+        }
+        return items;
+    }
+}
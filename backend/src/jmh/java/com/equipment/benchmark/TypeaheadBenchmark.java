@@ -0,0 +1,98 @@
+package com.equipment.benchmark;
+
+import com.equipment.dto.EquipmentSuggestion;
+import com.equipment.model.Equipment;
+import com.equipment.repository.EquipmentRepository;
+import com.equipment.service.EquipmentReadModels;
+import com.equipment.service.EquipmentTypeaheadIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One typeahead lookup over 100k items, in process: the radix trie against a scan that does
+ * what the search endpoint's {@code lower(col) LIKE '%term%'} does for every row (its page and
+ * count both need all rows). The scan leaves out I/O and SQL overhead, so it is a lower bound
+ * for the search request each keystroke used to send.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TypeaheadBenchmark {
+
+    private static final int LIMIT = 10;
+
+    @Param({"100000"})
+    public int items;
+
+    // An inventory number, a serial number and a word start shared by many names
+    @Param({"inv-05432", "sn-12345", "lap"})
+    public String prefix;
+
+    private List<Equipment> all;
+    private EquipmentTypeaheadIndex typeahead;
+    private EquipmentReadModels readModels;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        all = SyntheticEquipment.generate(items);
+        EquipmentRepository repository = Mockito.mock(EquipmentRepository.class);
+        Mockito.when(repository.findAll()).thenReturn(all);
+        typeahead = new EquipmentTypeaheadIndex(new SimpleMeterRegistry());
+        readModels = new EquipmentReadModels(repository, List.of(typeahead));
+        readModels.refresh();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        readModels.shutdown();
+    }
+
+    @Benchmark
+    public List<EquipmentSuggestion> trie() {
+        return typeahead.suggest(prefix, LIMIT).orElseThrow();
+    }
+
+    @Benchmark
+    public void scan(Blackhole blackhole) {
+        String term = prefix.toLowerCase(Locale.ROOT);
+        List<Equipment> page = new ArrayList<>(LIMIT);
+        long total = 0;
+        for (Equipment equipment : all) {
+            if (contains(equipment.getInventarnummer(), term) || contains(equipment.getSerialNumber(), term)
+                    || contains(equipment.getBezeichnung(), term)) {
+                total++;
+                if (page.size() < LIMIT) {
+                    page.add(equipment);
+                }
+            }
+        }
+        blackhole.consume(page);
+        blackhole.consume(total);
+    }
+
+    private static boolean contains(String value, String term) {
+        return value != null && value.toLowerCase(Locale.ROOT).contains(term);
+    }
+}
@@ -3,7 +3,11 @@ package com.equipment.controller;
 import com.equipment.dto.*;
 import com.equipment.model.Benutzer;
 import com.equipment.model.Equipment;
+import com.equipment.model.LogItem;
 import com.equipment.service.AdminService;
+import com.equipment.service.AuditHistoryService;
+import com.equipment.service.EquipmentImportService;
+import com.equipment.service.ExportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,11 +18,17 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import com.equipment.service.AusleiheService;
 
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
 import java.util.List;
 
 @RestController
@@ -32,9 +42,19 @@ public class AdminController {
 
     private final AusleiheService ausleiheService;
 
-    public AdminController(AdminService adminService, AusleiheService ausleiheService) {
+    private final EquipmentImportService equipmentImportService;
+
+    private final AuditHistoryService auditHistoryService;
+
+    private final ExportService exportService;
+
+    public AdminController(AdminService adminService, AusleiheService ausleiheService, EquipmentImportService equipmentImportService,
+                           AuditHistoryService auditHistoryService, ExportService exportService) {
         this.adminService = adminService;
         this.ausleiheService = ausleiheService;
+        this.equipmentImportService = equipmentImportService;
+        this.auditHistoryService = auditHistoryService;
+        this.exportService = exportService;
     }
 
     @Operation(summary = "Get all users", description = "Retrieves a list of all users in the system. Admin only.")
@@ -58,6 +78,23 @@ public class AdminController {
         return ResponseEntity.ok(adminService.addEquipment(equipment));
     }
 
+    @Operation(summary = "Bulk import equipment",
+            description = "Streams a CSV (text/csv, header row required) or NDJSON (application/x-ndjson) body and inserts it in batches. Admin only.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import processed; see row-level errors"),
+            @ApiResponse(responseCode = "400", description = "Unreadable file or missing CSV header"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required")
+    })
+    @PostMapping(value = "/equipment/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<EquipmentImportResult> importEquipment(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        EquipmentImportService.Format format = contentType.contains("ndjson")
+                ? EquipmentImportService.Format.NDJSON
+                : EquipmentImportService.Format.CSV;
+        return ResponseEntity.ok(equipmentImportService.importEquipment(body, format));
+    }
+
     @DeleteMapping("/equipment/{equipmentId}")
     public ResponseEntity<?> deleteEquipment(@PathVariable Integer equipmentId) {
         adminService.deleteEquipment(equipmentId);
@@ -74,9 +111,17 @@ public class AdminController {
         return ResponseEntity.ok(adminService.getCurrentLoans());
     }
 
+    @Operation(summary = "Get loan history",
+            description = "Audit history, newest first, filterable by user, equipment, action and date range. " +
+                    "Seek-paginated: pass the returned nextCursor as cursor to load the next page. Admin only.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "History page retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required")
+    })
     @GetMapping("/ausleihen/history")
-    public ResponseEntity<?> getLoanHistory() {
-        return ResponseEntity.ok(adminService.getLoanHistory());
+    public ResponseEntity<CursorPage<LogItem>> getLoanHistory(@ModelAttribute AuditHistoryRequest request) {
+        return ResponseEntity.ok(auditHistoryService.findHistory(request));
     }
 
     @PutMapping("/equipment/{equipmentId}")
@@ -96,6 +141,27 @@ public class AdminController {
         return ResponseEntity.ok(adminService.searchEquipment(request));
     }
 
+    @Operation(summary = "Scroll equipment", description = "Seek-paginated equipment search without a COUNT query. Pass nextCursor back as cursor; sortBy must be a non-nullable property. Admin only.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Search results retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or sort property"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required")
+    })
+    @GetMapping("/equipment/scroll")
+    public ResponseEntity<CursorPage<Equipment>> scrollEquipment(@ModelAttribute EquipmentSearchRequest request) {
+        return ResponseEntity.ok(adminService.scrollEquipment(request));
+    }
+
+    @Operation(summary = "Equipment facet counts", description = "Counts per category, status, condition and location under the given filters, served from memory. Admin only.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Facet counts retrieved successfully"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required")
+    })
+    @GetMapping("/equipment/facets")
+    public ResponseEntity<EquipmentFacets> getEquipmentFacets(@ModelAttribute EquipmentSearchRequest request) {
+        return ResponseEntity.ok(adminService.getEquipmentFacets(request));
+    }
+
     @Operation(summary = "Search users", description = "Search and filter users with pagination. Admin only.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Search results retrieved successfully"),
@@ -106,6 +172,17 @@ public class AdminController {
         return ResponseEntity.ok(adminService.searchUsers(request));
     }
 
+    @Operation(summary = "Scroll users", description = "Seek-paginated user search without a total count. Pass nextCursor back as cursor; sortBy must be a non-nullable property. Admin only.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Search results retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or sort property"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required")
+    })
+    @GetMapping("/users/scroll")
+    public ResponseEntity<CursorPage<Benutzer>> scrollUsers(@ModelAttribute UserSearchRequest request) {
+        return ResponseEntity.ok(adminService.scrollUsers(request));
+    }
+
     @PutMapping("/users/{userId}")
     public ResponseEntity<Benutzer> updateUser(
             @PathVariable Integer userId,
@@ -117,4 +194,42 @@ public class AdminController {
     public ResponseEntity<List<?>> getOverdueLoans() {
         return ResponseEntity.ok(adminService.getOverdueLoans());
     }
-} 
\ No newline at end of file
+
+    @Operation(summary = "Export data",
+            description = "Streams loans, users or the audit log as CSV or NDJSON. The response is gzip-encoded " +
+                    "when the client sends Accept-Encoding: gzip. Admin only.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed"),
+            @ApiResponse(responseCode = "400", description = "Unsupported format"),
+            @ApiResponse(responseCode = "404", description = "Unknown dataset"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required")
+    })
+    @GetMapping("/export/{dataset}")
+    public ResponseEntity<StreamingResponseBody> export(
+            @Parameter(description = "loans, users or audit") @PathVariable String dataset,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        ExportService.Dataset exportDataset = ExportService.Dataset.fromPath(dataset);
+        ExportService.Format exportFormat = ExportService.Format.fromParam(format);
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                try (GZIPOutputStream gzipOut = new GZIPOutputStream(out, 64 * 1024)) {
+                    exportService.export(exportDataset, exportFormat, gzipOut);
+                }
+            } else {
+                exportService.export(exportDataset, exportFormat, out);
+            }
+        };
+
+        String filename = dataset.toLowerCase() + "-export-" + LocalDate.now() + "." + exportFormat.getExtension();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+}
@@ -3,7 +3,13 @@ package com.equipment.controller;
 import com.equipment.dto.*;
 import com.equipment.service.BenutzerService;
 import com.equipment.service.AusleiheService;
+import com.equipment.service.AuditHistoryService;
+import com.equipment.service.EquipmentSearchService;
+import com.equipment.model.LogItem;
 import com.equipment.model.Benutzer;
+import com.equipment.model.Equipment;
+import com.equipment.security.JwtAuthenticationFilter;
+import com.equipment.security.VerifiedToken;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -32,10 +38,15 @@ public class BenutzerController {
 
     private final BenutzerService benutzerService;
     private final AusleiheService ausleiheService;
+    private final AuditHistoryService auditHistoryService;
+    private final EquipmentSearchService equipmentSearchService;
 
-    public BenutzerController(BenutzerService benutzerService, AusleiheService ausleiheService) {
+    public BenutzerController(BenutzerService benutzerService, AusleiheService ausleiheService, AuditHistoryService auditHistoryService,
+                              EquipmentSearchService equipmentSearchService) {
         this.benutzerService = benutzerService;
         this.ausleiheService = ausleiheService;
+        this.auditHistoryService = auditHistoryService;
+        this.equipmentSearchService = equipmentSearchService;
     }
 
     @Operation(
@@ -94,6 +105,36 @@ public class BenutzerController {
         return ResponseEntity.ok(benutzerService.login(request));
     }
 
+    @Operation(
+            summary = "Refresh access token",
+            description = "Exchanges a refresh token for a new access token and a new refresh token. Each refresh token can be used once; reusing one revokes all tokens issued from the same login."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tokens refreshed",
+                    content = @Content(schema = @Schema(implementation = AuthResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Refresh token invalid, expired, revoked or already used"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data")
+    })
+    @PostMapping("/token/refresh")
+    public ResponseEntity<AuthResponse> refreshToken(@Valid @RequestBody RefreshTokenRequest request) {
+        return ResponseEntity.ok(benutzerService.refresh(request));
+    }
+
+    @Operation(
+            summary = "Log out",
+            description = "Revokes the refresh token from the body and every token issued from the same login, and the access token if a valid one is sent. Works without an access token, so an idle session whose access token has expired can still be ended."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Logged out")
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(
+            @RequestAttribute(name = JwtAuthenticationFilter.VERIFIED_TOKEN_ATTRIBUTE, required = false) VerifiedToken accessToken,
+            @RequestBody(required = false) RefreshTokenRequest request) {
+        benutzerService.logout(accessToken, request != null ? request.getRefreshToken() : null);
+        return ResponseEntity.noContent().build();
+    }
+
     @Operation(
             summary = "Enable two-factor authentication",
             description = "Initiates 2FA setup and returns a QR code URL for Google Authenticator. Requires authentication."
@@ -171,6 +212,23 @@ public class BenutzerController {
         return ResponseEntity.ok().build();
     }
 
+    @Operation(
+            summary = "Get my loan history",
+            description = "Returns the authenticated user's audit history, newest first. Pass the returned nextCursor as cursor to load the next page."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "History page retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/history")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<CursorPage<LogItem>> getMyHistory(@ModelAttribute AuditHistoryRequest request) {
+        request.setBenutzerId(getCurrentUser().getId());
+        return ResponseEntity.ok(auditHistoryService.findHistory(request));
+    }
+
     @GetMapping("/profile")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<Benutzer> getProfile() {
@@ -200,6 +258,54 @@ public class BenutzerController {
         return ResponseEntity.ok(ausleiheService.searchEquipment(request));
     }
 
+    @Operation(
+            summary = "Scroll equipment",
+            description = "Seek-paginated equipment search for infinite scrolling: one query per page and no COUNT. Pass nextCursor back as cursor. sortBy must be a non-nullable property; total is set when there is no search term."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Search results retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or sort property"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/equipment/scroll")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<CursorPage<Equipment>> scrollEquipment(@ModelAttribute EquipmentSearchRequest request) {
+        return ResponseEntity.ok(equipmentSearchService.scroll(request));
+    }
+
+    @Operation(
+            summary = "Equipment facet counts",
+            description = "Counts per category, status, condition and location under the given filters. Each facet ignores its own filter. Served from memory."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Facet counts retrieved successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/equipment/facets")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<EquipmentFacets> getEquipmentFacets(@ModelAttribute EquipmentSearchRequest request) {
+        return ResponseEntity.ok(equipmentSearchService.facets(request));
+    }
+
+    @Operation(
+            summary = "Equipment typeahead",
+            description = "Suggests equipment whose inventory number, serial number or a word of its name starts with the given prefix. Served from memory; meant to be called on every keystroke."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Suggestions in key order"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/equipment/suggest")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<EquipmentSuggestion>> suggestEquipment(
+            @Parameter(description = "Prefix typed so far", required = true) @RequestParam("q") String prefix,
+            @Parameter(description = "Maximum number of suggestions (1-50)") @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(equipmentSearchService.suggest(prefix, limit));
+    }
+
     @Operation(
             summary = "Borrow equipment",
             description = "Borrows an equipment item. Optionally specify an expected return date."
@@ -207,7 +313,8 @@ public class BenutzerController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Equipment borrowed successfully"),
             @ApiResponse(responseCode = "404", description = "Equipment not found or not available"),
-            @ApiResponse(responseCode = "400", description = "Equipment already borrowed or invalid request"),
+            @ApiResponse(responseCode = "409", description = "Equipment already borrowed or not available"),
+            @ApiResponse(responseCode = "400", description = "Invalid request"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     @SecurityRequirement(name = "bearerAuth")
@@ -222,6 +329,38 @@ public class BenutzerController {
         return ResponseEntity.ok().build();
     }
 
+    @Operation(
+            summary = "Borrow several equipment items",
+            description = "Borrows up to 50 items in one transaction and reports the outcome per item."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed; see per-item results"),
+            @ApiResponse(responseCode = "400", description = "Invalid request"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @PostMapping("/ausleihen/batch")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<BatchItemResult>> borrowEquipmentBatch(@Valid @RequestBody BatchBorrowRequest request) {
+        return ResponseEntity.ok(ausleiheService.borrowEquipmentBatch(request.getEquipmentIds(), request.getExpectedReturnDate()));
+    }
+
+    @Operation(
+            summary = "Return several equipment items",
+            description = "Returns up to 50 items borrowed by the authenticated user in one transaction and reports the outcome per item."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed; see per-item results"),
+            @ApiResponse(responseCode = "400", description = "Invalid request"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @PostMapping("/rueckgabe/batch")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<BatchItemResult>> returnEquipmentBatch(@Valid @RequestBody BatchReturnRequest request) {
+        return ResponseEntity.ok(ausleiheService.returnEquipmentBatch(request.getEquipmentIds()));
+    }
+
     private Benutzer getCurrentUser() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         Object principal = auth != null ? auth.getPrincipal() : null;
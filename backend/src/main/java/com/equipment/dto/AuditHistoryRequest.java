@@ -0,0 +1,78 @@
+package com.equipment.dto;
+
+import com.equipment.model.AuditAction;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for filtering and seek-paginating the audit history.
+ */
+public class AuditHistoryRequest {
+    private Integer benutzerId;
+    private Integer equipmentId;
+    private AuditAction action;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from; // inclusive, on ausleihdatum
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to; // exclusive, on ausleihdatum
+    private String cursor; // opaque, taken from the previous response's nextCursor
+    private Integer size = 50;
+
+    // Getters and Setters
+    public Integer getBenutzerId() {
+        return benutzerId;
+    }
+
+    public void setBenutzerId(Integer benutzerId) {
+        this.benutzerId = benutzerId;
+    }
+
+    public Integer getEquipmentId() {
+        return equipmentId;
+    }
+
+    public void setEquipmentId(Integer equipmentId) {
+        this.equipmentId = equipmentId;
+    }
+
+    public AuditAction getAction() {
+        return action;
+    }
+
+    public void setAction(AuditAction action) {
+        this.action = action;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public Integer getSize() {
+        return size;
+    }
+
+    public void setSize(Integer size) {
+        this.size = size != null && size > 0 && size <= 200 ? size : 50;
+    }
+}
@@ -3,6 +3,12 @@ package com.equipment.dto;
 public class AuthResponse {
     private String token;
 
+    // Opaque token for POST /api/benutzer/token/refresh; rotated on every use
+    private String refreshToken;
+
+    // Lifetime of the access token in seconds
+    private long expiresIn;
+
     public String getToken() {
         return token;
     }
@@ -11,7 +17,29 @@ public class AuthResponse {
         this.token = token;
     }
 
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    public long getExpiresIn() {
+        return expiresIn;
+    }
+
+    public void setExpiresIn(long expiresIn) {
+        this.expiresIn = expiresIn;
+    }
+
     public AuthResponse(String token) {
         this.token = token;
     }
-}
\ No newline at end of file
+
+    public AuthResponse(String token, String refreshToken, long expiresIn) {
+        this.token = token;
+        this.refreshToken = refreshToken;
+        this.expiresIn = expiresIn;
+    }
+}
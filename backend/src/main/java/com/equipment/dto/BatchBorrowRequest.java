@@ -0,0 +1,37 @@
+package com.equipment.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for borrowing several equipment items in one transaction.
+ */
+public class BatchBorrowRequest {
+    @NotEmpty(message = "At least one equipment id is required")
+    @Size(max = 50, message = "A batch must not contain more than 50 items")
+    private List<Integer> equipmentIds;
+
+    private LocalDate expectedReturnDate;
+
+    public BatchBorrowRequest() {
+    }
+
+    public List<Integer> getEquipmentIds() {
+        return equipmentIds;
+    }
+
+    public void setEquipmentIds(List<Integer> equipmentIds) {
+        this.equipmentIds = equipmentIds;
+    }
+
+    public LocalDate getExpectedReturnDate() {
+        return expectedReturnDate;
+    }
+
+    public void setExpectedReturnDate(LocalDate expectedReturnDate) {
+        this.expectedReturnDate = expectedReturnDate;
+    }
+}
@@ -0,0 +1,46 @@
+package com.equipment.dto;
+
+/**
+ * Outcome of a single item within a batch borrow or return.
+ */
+public class BatchItemResult {
+    private Integer equipmentId;
+    private boolean success;
+    private int status;
+    private String message;
+
+    public BatchItemResult(Integer equipmentId, boolean success, int status, String message) {
+        this.equipmentId = equipmentId;
+        this.success = success;
+        this.status = status;
+        this.message = message;
+    }
+
+    public static BatchItemResult ok(Integer equipmentId) {
+        return new BatchItemResult(equipmentId, true, 200, null);
+    }
+
+    public static BatchItemResult notFound(Integer equipmentId, String message) {
+        return new BatchItemResult(equipmentId, false, 404, message);
+    }
+
+    public static BatchItemResult conflict(Integer equipmentId, String message) {
+        return new BatchItemResult(equipmentId, false, 409, message);
+    }
+
+    public Integer getEquipmentId() {
+        return equipmentId;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
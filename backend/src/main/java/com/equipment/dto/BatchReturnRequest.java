@@ -0,0 +1,26 @@
+package com.equipment.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO for returning several borrowed equipment items in one transaction.
+ */
+public class BatchReturnRequest {
+    @NotEmpty(message = "At least one equipment id is required")
+    @Size(max = 50, message = "A batch must not contain more than 50 items")
+    private List<Integer> equipmentIds;
+
+    public BatchReturnRequest() {
+    }
+
+    public List<Integer> getEquipmentIds() {
+        return equipmentIds;
+    }
+
+    public void setEquipmentIds(List<Integer> equipmentIds) {
+        this.equipmentIds = equipmentIds;
+    }
+}
@@ -0,0 +1,40 @@
+package com.equipment.dto;
+
+import java.util.List;
+
+/**
+ * One page of a seek-paginated result. Pass {@code nextCursor} back as {@code cursor}
+ * to fetch the following page; it is null on the last page. {@code total} is the number of
+ * matching items where it is known without a COUNT query, otherwise null.
+ */
+public class CursorPage<T> {
+    private final List<T> items;
+    private final String nextCursor;
+    private final Long total;
+
+    public CursorPage(List<T> items, String nextCursor) {
+        this(items, nextCursor, null);
+    }
+
+    public CursorPage(List<T> items, String nextCursor, Long total) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.total = total;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public Long getTotal() {
+        return total;
+    }
+
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+}
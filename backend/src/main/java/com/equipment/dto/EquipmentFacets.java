@@ -0,0 +1,72 @@
+package com.equipment.dto;
+
+import com.equipment.model.ConditionStatus;
+import com.equipment.model.EquipmentCategory;
+import com.equipment.model.EquipmentStatus;
+
+import java.util.Map;
+
+/**
+ * Item counts per filter value. Each facet is counted with the filters on the other facets
+ * applied but not its own, so the alternatives to a selected value keep their counts.
+ */
+public class EquipmentFacets {
+    private long total;
+    private Map<EquipmentCategory, Long> category;
+    private Map<EquipmentStatus, Long> status;
+    private Map<ConditionStatus, Long> conditionStatus;
+    private Map<String, Long> location;
+
+    public EquipmentFacets() {
+    }
+
+    public EquipmentFacets(long total, Map<EquipmentCategory, Long> category, Map<EquipmentStatus, Long> status,
+                           Map<ConditionStatus, Long> conditionStatus, Map<String, Long> location) {
+        this.total = total;
+        this.category = category;
+        this.status = status;
+        this.conditionStatus = conditionStatus;
+        this.location = location;
+    }
+
+    // Getters and Setters
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public Map<EquipmentCategory, Long> getCategory() {
+        return category;
+    }
+
+    public void setCategory(Map<EquipmentCategory, Long> category) {
+        this.category = category;
+    }
+
+    public Map<EquipmentStatus, Long> getStatus() {
+        return status;
+    }
+
+    public void setStatus(Map<EquipmentStatus, Long> status) {
+        this.status = status;
+    }
+
+    public Map<ConditionStatus, Long> getConditionStatus() {
+        return conditionStatus;
+    }
+
+    public void setConditionStatus(Map<ConditionStatus, Long> conditionStatus) {
+        this.conditionStatus = conditionStatus;
+    }
+
+    public Map<String, Long> getLocation() {
+        return location;
+    }
+
+    public void setLocation(Map<String, Long> location) {
+        this.location = location;
+    }
+}
@@ -0,0 +1,54 @@
+package com.equipment.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Summary of a bulk equipment import, with row-level errors.
+ */
+public class EquipmentImportResult {
+    private int totalRows;
+    private int imported;
+    private int failed;
+    private boolean errorsTruncated;
+    private final List<RowError> errors = new ArrayList<>();
+
+    public int getTotalRows() {
+        return totalRows;
+    }
+
+    public void setTotalRows(int totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public void addImported(int count) {
+        this.imported += count;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public void addError(long line, String inventarnummer, String message, int maxErrors) {
+        failed++;
+        if (errors.size() < maxErrors) {
+            errors.add(new RowError(line, inventarnummer, message));
+        } else {
+            errorsTruncated = true;
+        }
+    }
+
+    public record RowError(long line, String inventarnummer, String message) {}
+}
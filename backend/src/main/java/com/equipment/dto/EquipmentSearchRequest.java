@@ -13,10 +13,12 @@ public class EquipmentSearchRequest {
     private EquipmentStatus status;
     private ConditionStatus conditionStatus;
     private String location;
+    private SearchMode searchMode; // null: configured default
     private Integer page = 0;
     private Integer size = 20;
     private String sortBy = "id";
     private String sortDirection = "ASC";
+    private String cursor; // scroll endpoints only: opaque, taken from the previous response's nextCursor
 
     // Getters and Setters
     public String getSearchTerm() {
@@ -59,6 +61,14 @@ public class EquipmentSearchRequest {
         this.location = location;
     }
 
+    public SearchMode getSearchMode() {
+        return searchMode;
+    }
+
+    public void setSearchMode(SearchMode searchMode) {
+        this.searchMode = searchMode;
+    }
+
     public Integer getPage() {
         return page;
     }
@@ -91,5 +101,12 @@ public class EquipmentSearchRequest {
         this.sortDirection = sortDirection != null && (sortDirection.equalsIgnoreCase("ASC") || sortDirection.equalsIgnoreCase("DESC")) 
             ? sortDirection.toUpperCase() : "ASC";
     }
-}
 
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+}
@@ -0,0 +1,72 @@
+package com.equipment.dto;
+
+import com.equipment.model.Equipment;
+import com.equipment.model.EquipmentStatus;
+
+/**
+ * Typeahead entry: enough to show and pick an item without loading it.
+ */
+public class EquipmentSuggestion {
+    private Integer id;
+    private String inventarnummer;
+    private String bezeichnung;
+    private String serialNumber;
+    private EquipmentStatus status;
+
+    public EquipmentSuggestion() {
+    }
+
+    public EquipmentSuggestion(Integer id, String inventarnummer, String bezeichnung, String serialNumber, EquipmentStatus status) {
+        this.id = id;
+        this.inventarnummer = inventarnummer;
+        this.bezeichnung = bezeichnung;
+        this.serialNumber = serialNumber;
+        this.status = status;
+    }
+
+    public static EquipmentSuggestion of(Equipment equipment) {
+        return new EquipmentSuggestion(equipment.getId(), equipment.getInventarnummer(), equipment.getBezeichnung(),
+                equipment.getSerialNumber(), equipment.getStatus());
+    }
+
+    // Getters and Setters
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public String getInventarnummer() {
+        return inventarnummer;
+    }
+
+    public void setInventarnummer(String inventarnummer) {
+        this.inventarnummer = inventarnummer;
+    }
+
+    public String getBezeichnung() {
+        return bezeichnung;
+    }
+
+    public void setBezeichnung(String bezeichnung) {
+        this.bezeichnung = bezeichnung;
+    }
+
+    public String getSerialNumber() {
+        return serialNumber;
+    }
+
+    public void setSerialNumber(String serialNumber) {
+        this.serialNumber = serialNumber;
+    }
+
+    public EquipmentStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(EquipmentStatus status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,13 @@
+package com.equipment.dto;
+
+/**
+ * How a search term is matched. Selectable per request ({@code searchMode}) with a configured default.
+ */
+public enum SearchMode {
+    /** In-memory inverted index (equipment only); falls back to LIKE while it is not available */
+    INDEX,
+    /** MySQL FULLTEXT index via MATCH ... AGAINST */
+    FULLTEXT,
+    /** Substring LIKE over each searchable column; scans the table */
+    LIKE
+}
@@ -10,10 +10,12 @@ public class UserSearchRequest {
     private String searchTerm; // Search in benutzername, vorname, nachname, email
     private Role role;
     private AccountStatus accountStatus;
+    private SearchMode searchMode; // null: configured default
     private Integer page = 0;
     private Integer size = 20;
     private String sortBy = "id";
     private String sortDirection = "ASC";
+    private String cursor; // scroll endpoints only: opaque, taken from the previous response's nextCursor
 
     // Getters and Setters
     public String getSearchTerm() {
@@ -40,6 +42,14 @@ public class UserSearchRequest {
         this.accountStatus = accountStatus;
     }
 
+    public SearchMode getSearchMode() {
+        return searchMode;
+    }
+
+    public void setSearchMode(SearchMode searchMode) {
+        this.searchMode = searchMode;
+    }
+
     public Integer getPage() {
         return page;
     }
@@ -72,5 +82,12 @@ public class UserSearchRequest {
         this.sortDirection = sortDirection != null && (sortDirection.equalsIgnoreCase("ASC") || sortDirection.equalsIgnoreCase("DESC")) 
             ? sortDirection.toUpperCase() : "ASC";
     }
-}
 
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+}
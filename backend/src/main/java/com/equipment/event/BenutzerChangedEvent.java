@@ -0,0 +1,20 @@
+package com.equipment.event;
+
+import java.util.List;
+
+/**
+ * Published when a user's account data that feeds the security principal changes
+ * (profile, role, status, password, 2FA) or the user is deleted.
+ */
+public class BenutzerChangedEvent {
+
+    private final List<String> benutzernamen;
+
+    public BenutzerChangedEvent(String... benutzernamen) {
+        this.benutzernamen = List.of(benutzernamen);
+    }
+
+    public List<String> getBenutzernamen() {
+        return benutzernamen;
+    }
+}
@@ -0,0 +1,60 @@
+package com.equipment.event;
+
+import com.equipment.model.Equipment;
+
+import java.util.List;
+
+/**
+ * Published whenever equipment rows are created, modified or removed.
+ * In-memory read models listen for it after the surrounding transaction commits.
+ */
+public class EquipmentChangedEvent {
+
+    public enum Type {
+        /** Equipment was created or updated; the new state is carried in {@link #getEquipment()} */
+        SAVED,
+        /** Equipment was deleted; only the ids are known */
+        DELETED,
+        /** Many rows changed at once (e.g. an import); listeners should reload */
+        BULK
+    }
+
+    private final Type type;
+    private final List<Equipment> equipment;
+    private final List<Integer> equipmentIds;
+
+    private EquipmentChangedEvent(Type type, List<Equipment> equipment, List<Integer> equipmentIds) {
+        this.type = type;
+        this.equipment = equipment;
+        this.equipmentIds = equipmentIds;
+    }
+
+    public static EquipmentChangedEvent saved(List<Equipment> equipment) {
+        return new EquipmentChangedEvent(Type.SAVED, List.copyOf(equipment),
+                equipment.stream().map(Equipment::getId).toList());
+    }
+
+    public static EquipmentChangedEvent saved(Equipment equipment) {
+        return saved(List.of(equipment));
+    }
+
+    public static EquipmentChangedEvent deleted(Integer equipmentId) {
+        return new EquipmentChangedEvent(Type.DELETED, List.of(), List.of(equipmentId));
+    }
+
+    public static EquipmentChangedEvent bulk() {
+        return new EquipmentChangedEvent(Type.BULK, List.of(), List.of());
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public List<Equipment> getEquipment() {
+        return equipment;
+    }
+
+    public List<Integer> getEquipmentIds() {
+        return equipmentIds;
+    }
+}
@@ -0,0 +1,58 @@
+package com.equipment.event;
+
+import com.equipment.model.Ausleihe;
+
+import java.util.List;
+
+/**
+ * Published when loans are opened or closed. In-memory loan views listen for it after the
+ * surrounding transaction commits.
+ */
+public class LoanChangedEvent {
+
+    public enum Type {
+        /** Loans were created; they are carried in {@link #getLoans()} */
+        OPENED,
+        /** Loans were closed; only the equipment ids are known */
+        CLOSED
+    }
+
+    private final Type type;
+    private final List<Ausleihe> loans;
+    private final List<Integer> equipmentIds;
+
+    private LoanChangedEvent(Type type, List<Ausleihe> loans, List<Integer> equipmentIds) {
+        this.type = type;
+        this.loans = loans;
+        this.equipmentIds = equipmentIds;
+    }
+
+    public static LoanChangedEvent opened(List<Ausleihe> loans) {
+        return new LoanChangedEvent(Type.OPENED, List.copyOf(loans),
+                loans.stream().map(a -> a.getEquipment().getId()).toList());
+    }
+
+    public static LoanChangedEvent opened(Ausleihe loan) {
+        return opened(List.of(loan));
+    }
+
+    public static LoanChangedEvent closed(List<Integer> equipmentIds) {
+        return new LoanChangedEvent(Type.CLOSED, List.of(), List.copyOf(equipmentIds));
+    }
+
+    public static LoanChangedEvent closed(Integer equipmentId) {
+        return closed(List.of(equipmentId));
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public List<Ausleihe> getLoans() {
+        return loans;
+    }
+
+    public List<Integer> getEquipmentIds() {
+        return equipmentIds;
+    }
+}
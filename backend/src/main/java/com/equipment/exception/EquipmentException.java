@@ -23,6 +23,10 @@ public class EquipmentException extends RuntimeException {
         return new EquipmentException(message, HttpStatus.BAD_REQUEST);
     }
 
+    public static EquipmentException serviceUnavailable(String message) {
+        return new EquipmentException(message, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     public HttpStatus getStatus() {
         return status;
     }
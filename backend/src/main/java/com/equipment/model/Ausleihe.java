@@ -7,7 +7,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "ausleihe", indexes = {
     @Index(name = "idx_ausleihe_expected_return", columnList = "expected_return_date"),
-    @Index(name = "idx_ausleihe_benutzer", columnList = "benutzer_id")
+    @Index(name = "idx_ausleihe_benutzer", columnList = "benutzer_id"),
+    @Index(name = "idx_ausleihe_equipment", columnList = "equipment_id")
 })
 public class Ausleihe {
     @Id
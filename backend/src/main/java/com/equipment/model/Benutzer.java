@@ -46,8 +46,8 @@ public class Benutzer {
     @Column(name = "two_factor_secret", length = 128)
     private String twoFactorSecret;
 
-    @Column(name = "recovery_codes", length = 2048)
-    private String recoveryCodes;
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion = 0;
 
     @Column(name = "last_login")
     private LocalDateTime lastLogin;
@@ -172,12 +172,12 @@ public class Benutzer {
         this.twoFactorSecret = twoFactorSecret;
     }
 
-    public String getRecoveryCodes() {
-        return recoveryCodes;
+    public int getTokenVersion() {
+        return tokenVersion;
     }
 
-    public void setRecoveryCodes(String recoveryCodes) {
-        this.recoveryCodes = recoveryCodes;
+    public void setTokenVersion(int tokenVersion) {
+        this.tokenVersion = tokenVersion;
     }
 
     public LocalDateTime getLastLogin() {
@@ -8,8 +8,7 @@ import java.time.LocalDateTime;
     @Index(name = "idx_logitem_action", columnList = "action_type"),
     @Index(name = "idx_logitem_benutzer", columnList = "benutzer_id"),
     @Index(name = "idx_logitem_equipment", columnList = "equipment_id"),
-    @Index(name = "idx_logitem_ausleihdatum", columnList = "ausleihdatum"),
-    @Index(name = "idx_logitem_rueckgabedatum", columnList = "rueckgabedatum")
+    @Index(name = "idx_logitem_ausleihdatum", columnList = "ausleihdatum")
 })
 public class LogItem {
     @Id
@@ -0,0 +1,82 @@
+package com.equipment.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "recovery_code", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_recovery_code_lookup", columnNames = {"benutzer_id", "lookup"})
+})
+public class RecoveryCode {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "benutzer_id", nullable = false)
+    private Integer benutzerId;
+
+    // Non-secret part of the code; null for codes issued before lookups existed
+    @Column(name = "lookup", length = 8)
+    private String lookup;
+
+    @Column(name = "code_hash", nullable = false)
+    private String codeHash;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public RecoveryCode() {
+    }
+
+    public RecoveryCode(Integer benutzerId, String lookup, String codeHash) {
+        this.benutzerId = benutzerId;
+        this.lookup = lookup;
+        this.codeHash = codeHash;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Integer getBenutzerId() {
+        return benutzerId;
+    }
+
+    public void setBenutzerId(Integer benutzerId) {
+        this.benutzerId = benutzerId;
+    }
+
+    public String getLookup() {
+        return lookup;
+    }
+
+    public void setLookup(String lookup) {
+        this.lookup = lookup;
+    }
+
+    public String getCodeHash() {
+        return codeHash;
+    }
+
+    public void setCodeHash(String codeHash) {
+        this.codeHash = codeHash;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
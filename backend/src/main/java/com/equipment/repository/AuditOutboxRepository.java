@@ -0,0 +1,136 @@
+package com.equipment.repository;
+
+import com.equipment.model.AuditAction;
+import com.equipment.model.LogItem;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JDBC access to the audit_outbox table. Rows are claimed with FOR UPDATE SKIP LOCKED so
+ * several drainers (threads or replicas) never move the same event twice.
+ */
+@Repository
+public class AuditOutboxRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO audit_outbox (action_type, benutzername, benutzer_id, equipmentinventarnummer, equipmentbezeichnung, " +
+            "equipment_id, ausleihdatum, rueckgabedatum, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_COLUMNS =
+            "SELECT id, action_type, benutzername, benutzer_id, equipmentinventarnummer, equipmentbezeichnung, " +
+            "equipment_id, ausleihdatum, rueckgabedatum, created_at FROM audit_outbox ";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public AuditOutboxRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+    }
+
+    /**
+     * Inserts the given events as one JDBC batch and returns their outbox ids.
+     */
+    public List<Long> insertAll(List<LogItem> items) {
+        if (items.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.execute((Connection connection) -> {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (LogItem item : items) {
+                    ps.setString(1, item.getActionType().name());
+                    ps.setString(2, item.getBenutzername());
+                    setNullableInt(ps, 3, item.getBenutzerId());
+                    ps.setString(4, item.getEquipmentinventarnummer());
+                    ps.setString(5, item.getEquipmentbezeichnung());
+                    setNullableInt(ps, 6, item.getEquipmentId());
+                    ps.setTimestamp(7, Timestamp.valueOf(item.getAusleihdatum()));
+                    ps.setTimestamp(8, item.getRueckgabedatum() != null ? Timestamp.valueOf(item.getRueckgabedatum()) : null);
+                    ps.setTimestamp(9, now);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                List<Long> ids = new ArrayList<>(items.size());
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        ids.add(keys.getLong(1));
+                    }
+                }
+                return ids;
+            }
+        });
+    }
+
+    /**
+     * Locks and returns those of the given entries that no other drainer holds. Must run in a transaction.
+     */
+    public List<Entry> lockByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return namedJdbcTemplate.query(SELECT_COLUMNS + "WHERE id IN (:ids) ORDER BY id FOR UPDATE SKIP LOCKED",
+                new MapSqlParameterSource("ids", ids), ENTRY_MAPPER);
+    }
+
+    /**
+     * Locks and returns the oldest entries written before {@code before}. Must run in a transaction.
+     * <p>
+     * The ids are found with a plain, non-locking read and then locked by primary key. A locking
+     * read filtered on created_at, which has no index, would next-key-lock every row it scans,
+     * including rows too new to match and the gap after the last one, and so block the outbox
+     * insert on the borrow/return path for as long as the sweep runs.
+     */
+    public List<Entry> lockOldest(LocalDateTime before, int limit) {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM audit_outbox WHERE created_at < ? ORDER BY id LIMIT ?",
+                Long.class, Timestamp.valueOf(before), limit);
+        return lockByIds(ids);
+    }
+
+    public void deleteByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        namedJdbcTemplate.update("DELETE FROM audit_outbox WHERE id IN (:ids)", new MapSqlParameterSource("ids", ids));
+    }
+
+    private static void setNullableInt(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value != null) {
+            ps.setInt(index, value);
+        } else {
+            ps.setNull(index, Types.INTEGER);
+        }
+    }
+
+    private static final RowMapper<Entry> ENTRY_MAPPER = (rs, rowNum) -> {
+        LogItem item = new LogItem();
+        item.setActionType(AuditAction.valueOf(rs.getString("action_type")));
+        item.setBenutzername(rs.getString("benutzername"));
+        item.setBenutzerId(rs.getObject("benutzer_id", Integer.class));
+        item.setEquipmentinventarnummer(rs.getString("equipmentinventarnummer"));
+        item.setEquipmentbezeichnung(rs.getString("equipmentbezeichnung"));
+        item.setEquipmentId(rs.getObject("equipment_id", Integer.class));
+        item.setAusleihdatum(rs.getTimestamp("ausleihdatum").toLocalDateTime());
+        Timestamp rueckgabe = rs.getTimestamp("rueckgabedatum");
+        item.setRueckgabedatum(rueckgabe != null ? rueckgabe.toLocalDateTime() : null);
+        item.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+        return new Entry(rs.getLong("id"), item);
+    };
+
+    public record Entry(long id, LogItem logItem) {}
+}
@@ -0,0 +1,16 @@
+package com.equipment.repository;
+
+import com.equipment.model.Ausleihe;
+
+import java.util.List;
+
+/**
+ * JDBC batch operations for {@link Ausleihe}. The entity uses IDENTITY ids, which stops
+ * Hibernate from batching inserts, so multi-item checkouts write through JDBC instead.
+ */
+public interface AusleiheBatchRepository {
+    /**
+     * Inserts the loans in one batch and sets their generated ids and creation time.
+     */
+    void batchInsert(List<Ausleihe> loans);
+}
@@ -0,0 +1,58 @@
+package com.equipment.repository;
+
+import com.equipment.model.Ausleihe;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+class AusleiheBatchRepositoryImpl implements AusleiheBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO ausleihe (benutzer_id, equipment_id, ausleihe, expected_return_date, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    AusleiheBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void batchInsert(List<Ausleihe> loans) {
+        if (loans.isEmpty()) {
+            return;
+        }
+        LocalDateTime createdAt = LocalDateTime.now();
+        jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (Ausleihe loan : loans) {
+                    ps.setInt(1, loan.getBenutzer().getId());
+                    ps.setInt(2, loan.getEquipment().getId());
+                    ps.setTimestamp(3, Timestamp.valueOf(loan.getAusleihe()));
+                    if (loan.getExpectedReturnDate() != null) {
+                        ps.setDate(4, Date.valueOf(loan.getExpectedReturnDate()));
+                    } else {
+                        ps.setNull(4, Types.DATE);
+                    }
+                    ps.setTimestamp(5, Timestamp.valueOf(createdAt));
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    for (int i = 0; i < loans.size() && keys.next(); i++) {
+                        loans.get(i).setId(keys.getInt(1));
+                        loans.get(i).setCreatedAt(createdAt);
+                    }
+                }
+                return null;
+            }
+        });
+    }
+}
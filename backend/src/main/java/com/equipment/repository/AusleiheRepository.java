@@ -3,11 +3,37 @@ package com.equipment.repository;
 import com.equipment.model.Ausleihe;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface AusleiheRepository extends JpaRepository<Ausleihe, Integer>, JpaSpecificationExecutor<Ausleihe> {
+public interface AusleiheRepository extends JpaRepository<Ausleihe, Integer>, JpaSpecificationExecutor<Ausleihe>, AusleiheBatchRepository {
     List<Ausleihe> findByBenutzerId(Integer benutzerId);
     boolean existsByBenutzerId(Integer benutzerId);
     List<Ausleihe> findByExpectedReturnDateBeforeAndExpectedReturnDateIsNotNull(LocalDate date);
-} 
\ No newline at end of file
+
+    // Loads user and equipment in the same query instead of one eager select per loan
+    @Query("SELECT a FROM Ausleihe a JOIN FETCH a.benutzer JOIN FETCH a.equipment WHERE a.expectedReturnDate IS NOT NULL")
+    List<Ausleihe> findOpenWithExpectedReturnDate();
+
+    // Served by idx_ausleihe_equipment / the equipment_unique constraint
+    boolean existsByEquipmentId(Integer equipmentId);
+    Optional<Ausleihe> findByEquipmentIdAndBenutzerId(Integer equipmentId, Integer benutzerId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM Ausleihe a WHERE a.id = :id")
+    int deleteByIdReturningCount(@Param("id") Integer id);
+
+    @Query("SELECT a.equipment.id FROM Ausleihe a WHERE a.equipment.id IN :equipmentIds")
+    List<Integer> findEquipmentIdsOnLoan(@Param("equipmentIds") Collection<Integer> equipmentIds);
+
+    // Index-only scan of idx_ausleihe_equipment
+    @Query("SELECT a.equipment.id FROM Ausleihe a")
+    List<Integer> findAllEquipmentIdsOnLoan();
+
+    List<Ausleihe> findByBenutzerIdAndEquipmentIdIn(Integer benutzerId, Collection<Integer> equipmentIds);
+}
@@ -0,0 +1,12 @@
+package com.equipment.repository;
+
+import com.equipment.model.Equipment;
+
+import java.util.List;
+
+/**
+ * JDBC batch operations for {@link Equipment}; see {@link AusleiheBatchRepository}.
+ */
+public interface EquipmentBatchRepository {
+    void batchInsert(List<Equipment> equipment);
+}
@@ -0,0 +1,43 @@
+package com.equipment.repository;
+
+import com.equipment.model.Equipment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+class EquipmentBatchRepositoryImpl implements EquipmentBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO equipment (inventarnummer, bezeichnung, description, category, status, condition_status, " +
+            "location, serial_number, purchase_date, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    EquipmentBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void batchInsert(List<Equipment> equipment) {
+        if (equipment.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, equipment, equipment.size(), (ps, e) -> {
+            ps.setString(1, e.getInventarnummer());
+            ps.setString(2, e.getBezeichnung());
+            ps.setString(3, e.getDescription());
+            ps.setString(4, e.getCategory().name());
+            ps.setString(5, e.getStatus().name());
+            ps.setString(6, e.getConditionStatus().name());
+            ps.setString(7, e.getLocation());
+            ps.setString(8, e.getSerialNumber());
+            ps.setDate(9, e.getPurchaseDate() != null ? Date.valueOf(e.getPurchaseDate()) : null);
+            ps.setTimestamp(10, now);
+            ps.setTimestamp(11, now);
+        });
+    }
+}
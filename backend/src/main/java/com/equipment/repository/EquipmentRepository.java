@@ -1,16 +1,60 @@
 package com.equipment.repository;
 
 import com.equipment.model.Equipment;
+import com.equipment.model.EquipmentStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
-public interface EquipmentRepository extends JpaRepository<Equipment, Integer>, JpaSpecificationExecutor<Equipment> {
+public interface EquipmentRepository extends JpaRepository<Equipment, Integer>, JpaSpecificationExecutor<Equipment>, EquipmentBatchRepository {
     static void deleteByEquipmentId(Integer equipmentId) {
     }
 
     boolean existsByInventarnummer(String inventarnummer);
+
+    // Prefix range scan on the unique inventarnummer index; typeahead fallback
+    List<Equipment> findByInventarnummerStartingWithOrderByInventarnummerAsc(String prefix, Pageable pageable);
+
     boolean existsById(Integer equipmentId);
 
+    // Facet values of every item without loading the entities: id, category, status, conditionStatus, location
+    @Query("SELECT e.id, e.category, e.status, e.conditionStatus, e.location FROM Equipment e")
+    List<Object[]> findFacetValues();
+
     List<Equipment> findByIdNotIn(List<Integer> ausgeliehenIds);
-}
\ No newline at end of file
+
+    @Query("SELECT e.inventarnummer FROM Equipment e WHERE e.inventarnummer IN :inventarnummern")
+    List<String> findExistingInventarnummern(@Param("inventarnummern") Collection<String> inventarnummern);
+
+    // Anti-join against ausleihe; the NOT EXISTS probe uses idx_ausleihe_equipment
+    @Query("SELECT e FROM Equipment e WHERE e.status = :status " +
+            "AND NOT EXISTS (SELECT a.id FROM Ausleihe a WHERE a.equipment = e) ORDER BY e.id")
+    List<Equipment> findWithStatusAndNoActiveLoan(@Param("status") EquipmentStatus status);
+
+    // Compare-and-set on the status column: returns 1 for the single winner, 0 if the row was not in the expected state
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Equipment e SET e.status = :newStatus, e.updatedAt = :now WHERE e.id = :id AND e.status = :expectedStatus")
+    int updateStatusIfCurrent(@Param("id") Integer id,
+                              @Param("expectedStatus") EquipmentStatus expectedStatus,
+                              @Param("newStatus") EquipmentStatus newStatus,
+                              @Param("now") LocalDateTime now);
+
+    // SELECT ... ORDER BY id FOR UPDATE: rows are locked in ascending id order so overlapping batches cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Equipment e WHERE e.id IN :ids ORDER BY e.id")
+    List<Equipment> findAllByIdForUpdate(@Param("ids") Collection<Integer> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Equipment e SET e.status = :newStatus, e.updatedAt = :now WHERE e.id IN :ids")
+    int updateStatusForIds(@Param("ids") Collection<Integer> ids,
+                           @Param("newStatus") EquipmentStatus newStatus,
+                           @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,95 @@
+package com.equipment.repository;
+
+import com.equipment.dto.AuditHistoryRequest;
+import com.equipment.model.AuditAction;
+import com.equipment.model.LogItem;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Read access to logitem_archive, the compressed table cold logitem partitions are moved into.
+ */
+@Repository
+public class LogItemArchiveRepository {
+
+    private static final String SELECT_COLUMNS =
+            "SELECT id, action_type, benutzername, benutzer_id, equipmentinventarnummer, equipmentbezeichnung, " +
+            "equipment_id, ausleihdatum, rueckgabedatum, created_at FROM logitem_archive ";
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public LogItemArchiveRepository(NamedParameterJdbcTemplate namedJdbcTemplate) {
+        this.namedJdbcTemplate = namedJdbcTemplate;
+    }
+
+    /**
+     * Newest ausleihdatum in the archive, served from the (ausleihdatum, id) index.
+     */
+    public Optional<LocalDateTime> findNewestAusleihdatum() {
+        Timestamp newest = namedJdbcTemplate.getJdbcTemplate()
+                .queryForObject("SELECT MAX(ausleihdatum) FROM logitem_archive", Timestamp.class);
+        return Optional.ofNullable(newest).map(Timestamp::toLocalDateTime);
+    }
+
+    /**
+     * Archived rows matching the history filters, ordered by (ausleihdatum, id) descending and
+     * starting strictly after the given seek position when one is set.
+     */
+    public List<LogItem> findHistory(AuditHistoryRequest request, LocalDateTime seekAusleihdatum, Integer seekId, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT_COLUMNS).append("WHERE 1 = 1");
+        MapSqlParameterSource params = new MapSqlParameterSource();
+
+        if (request.getBenutzerId() != null) {
+            sql.append(" AND benutzer_id = :benutzerId");
+            params.addValue("benutzerId", request.getBenutzerId());
+        }
+        if (request.getEquipmentId() != null) {
+            sql.append(" AND equipment_id = :equipmentId");
+            params.addValue("equipmentId", request.getEquipmentId());
+        }
+        if (request.getAction() != null) {
+            sql.append(" AND action_type = :action");
+            params.addValue("action", request.getAction().name());
+        }
+        if (request.getFrom() != null) {
+            sql.append(" AND ausleihdatum >= :from");
+            params.addValue("from", Timestamp.valueOf(request.getFrom()));
+        }
+        if (request.getTo() != null) {
+            sql.append(" AND ausleihdatum < :to");
+            params.addValue("to", Timestamp.valueOf(request.getTo()));
+        }
+        if (seekAusleihdatum != null && seekId != null) {
+            sql.append(" AND (ausleihdatum < :seekDatum OR (ausleihdatum = :seekDatum AND id < :seekId))");
+            params.addValue("seekDatum", Timestamp.valueOf(seekAusleihdatum));
+            params.addValue("seekId", seekId);
+        }
+        sql.append(" ORDER BY ausleihdatum DESC, id DESC LIMIT :limit");
+        params.addValue("limit", limit);
+
+        return namedJdbcTemplate.query(sql.toString(), params, LOG_ITEM_MAPPER);
+    }
+
+    private static final RowMapper<LogItem> LOG_ITEM_MAPPER = (rs, rowNum) -> {
+        LogItem item = new LogItem();
+        item.setId(rs.getInt("id"));
+        item.setActionType(AuditAction.valueOf(rs.getString("action_type")));
+        item.setBenutzername(rs.getString("benutzername"));
+        item.setBenutzerId(rs.getObject("benutzer_id", Integer.class));
+        item.setEquipmentinventarnummer(rs.getString("equipmentinventarnummer"));
+        item.setEquipmentbezeichnung(rs.getString("equipmentbezeichnung"));
+        item.setEquipmentId(rs.getObject("equipment_id", Integer.class));
+        item.setAusleihdatum(rs.getTimestamp("ausleihdatum").toLocalDateTime());
+        Timestamp rueckgabe = rs.getTimestamp("rueckgabedatum");
+        item.setRueckgabedatum(rueckgabe != null ? rueckgabe.toLocalDateTime() : null);
+        item.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+        return item;
+    };
+}
@@ -0,0 +1,12 @@
+package com.equipment.repository;
+
+import com.equipment.model.LogItem;
+
+import java.util.List;
+
+/**
+ * JDBC batch operations for {@link LogItem}; see {@link AusleiheBatchRepository}.
+ */
+public interface LogItemBatchRepository {
+    void batchInsert(List<LogItem> logItems);
+}
@@ -0,0 +1,51 @@
+package com.equipment.repository;
+
+import com.equipment.model.LogItem;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+class LogItemBatchRepositoryImpl implements LogItemBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO logitem (action_type, benutzername, benutzer_id, equipmentinventarnummer, equipmentbezeichnung, " +
+            "equipment_id, ausleihdatum, rueckgabedatum, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    LogItemBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void batchInsert(List<LogItem> logItems) {
+        if (logItems.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, logItems, logItems.size(), (ps, item) -> {
+            ps.setString(1, item.getActionType().name());
+            ps.setString(2, item.getBenutzername());
+            setNullableInt(ps, 3, item.getBenutzerId());
+            ps.setString(4, item.getEquipmentinventarnummer());
+            ps.setString(5, item.getEquipmentbezeichnung());
+            setNullableInt(ps, 6, item.getEquipmentId());
+            ps.setTimestamp(7, Timestamp.valueOf(item.getAusleihdatum()));
+            ps.setTimestamp(8, item.getRueckgabedatum() != null ? Timestamp.valueOf(item.getRueckgabedatum()) : null);
+            ps.setTimestamp(9, item.getCreatedAt() != null ? Timestamp.valueOf(item.getCreatedAt()) : now);
+        });
+    }
+
+    private static void setNullableInt(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value != null) {
+            ps.setInt(index, value);
+        } else {
+            ps.setNull(index, Types.INTEGER);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.equipment.repository;
 
 import com.equipment.model.LogItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
-public interface LogItemRepository extends JpaRepository<LogItem, Integer> {
+public interface LogItemRepository extends JpaRepository<LogItem, Integer>, JpaSpecificationExecutor<LogItem>, LogItemBatchRepository {
 } 
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.equipment.repository;
+
+import com.equipment.model.RecoveryCode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface RecoveryCodeRepository extends JpaRepository<RecoveryCode, Long> {
+    // Served by uk_recovery_code_lookup
+    Optional<RecoveryCode> findByBenutzerIdAndLookup(Integer benutzerId, String lookup);
+
+    List<RecoveryCode> findByBenutzerIdAndLookupIsNull(Integer benutzerId);
+
+    /**
+     * Deletes one code; returns 0 if a concurrent login already consumed it.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RecoveryCode r WHERE r.id = :id")
+    int deleteByIdReturningCount(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RecoveryCode r WHERE r.benutzerId = :benutzerId")
+    int deleteAllByBenutzerId(@Param("benutzerId") Integer benutzerId);
+}
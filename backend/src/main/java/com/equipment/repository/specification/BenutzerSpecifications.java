@@ -5,6 +5,8 @@ import com.equipment.model.Role;
 import com.equipment.model.AccountStatus;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.Optional;
+
 public class BenutzerSpecifications {
     
     public static Specification<Benutzer> hasSearchTerm(String searchTerm) {
@@ -20,6 +22,23 @@ public class BenutzerSpecifications {
         );
     }
 
+    /**
+     * Matches the term against the FULLTEXT index over the same columns as {@link #hasSearchTerm(String)}.
+     * Terms without an indexable word fall back to {@link #hasSearchTerm(String)}.
+     */
+    public static Specification<Benutzer> matchesSearchTerm(String searchTerm) {
+        Optional<String> booleanQuery = FullTextFunctions.booleanQuery(searchTerm);
+        if (booleanQuery.isEmpty()) {
+            return hasSearchTerm(searchTerm);
+        }
+        return (root, query, cb) -> cb.greaterThan(
+            cb.function(FullTextFunctions.MATCH_AGAINST_4, Double.class,
+                root.get("benutzername"), root.get("vorname"), root.get("nachname"), root.get("email"),
+                cb.literal(booleanQuery.get())),
+            0.0
+        );
+    }
+
     public static Specification<Benutzer> hasRole(Role role) {
         if (role == null) {
             return null;
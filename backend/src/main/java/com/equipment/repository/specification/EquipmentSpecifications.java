@@ -6,6 +6,8 @@ import com.equipment.model.EquipmentStatus;
 import com.equipment.model.ConditionStatus;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.Optional;
+
 public class EquipmentSpecifications {
     
     public static Specification<Equipment> hasSearchTerm(String searchTerm) {
@@ -20,6 +22,23 @@ public class EquipmentSpecifications {
         );
     }
 
+    /**
+     * Matches the term against the FULLTEXT index over the same columns as {@link #hasSearchTerm(String)}.
+     * Terms without an indexable word fall back to {@link #hasSearchTerm(String)}.
+     */
+    public static Specification<Equipment> matchesSearchTerm(String searchTerm) {
+        Optional<String> booleanQuery = FullTextFunctions.booleanQuery(searchTerm);
+        if (booleanQuery.isEmpty()) {
+            return hasSearchTerm(searchTerm);
+        }
+        return (root, query, cb) -> cb.greaterThan(
+            cb.function(FullTextFunctions.MATCH_AGAINST_3, Double.class,
+                root.get("inventarnummer"), root.get("bezeichnung"), root.get("description"),
+                cb.literal(booleanQuery.get())),
+            0.0
+        );
+    }
+
     public static Specification<Equipment> hasCategory(EquipmentCategory category) {
         if (category == null) {
             return null;
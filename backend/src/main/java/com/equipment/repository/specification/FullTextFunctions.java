@@ -0,0 +1,58 @@
+package com.equipment.repository.specification;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Registers MySQL {@code MATCH ... AGAINST} with Hibernate so Specifications can use the
+ * FULLTEXT indexes from V13, rebuilt without stopwords in V14. The column list passed to a
+ * function has to be exactly the column list of one FULLTEXT index. Registered through
+ * META-INF/services.
+ */
+public class FullTextFunctions implements FunctionContributor {
+
+    /** Relevance of three columns against a boolean-mode query; 0 when they do not match */
+    public static final String MATCH_AGAINST_3 = "match_against_3";
+    /** Relevance of four columns against a boolean-mode query; 0 when they do not match */
+    public static final String MATCH_AGAINST_4 = "match_against_4";
+
+    // ngram_token_size defaults to 2; shorter words are not in the index
+    private static final int MIN_WORD_LENGTH = 2;
+    // Operators of boolean mode; stripped so user input is always searched literally
+    private static final Pattern BOOLEAN_OPERATORS = Pattern.compile("[+\\-<>()~*\"@]");
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicType<Double> doubleType = functionContributions.getTypeConfiguration()
+                .getBasicTypeRegistry().resolve(StandardBasicTypes.DOUBLE);
+        functionContributions.getFunctionRegistry().registerPattern(MATCH_AGAINST_3,
+                "match(?1, ?2, ?3) against (?4 in boolean mode)", doubleType);
+        functionContributions.getFunctionRegistry().registerPattern(MATCH_AGAINST_4,
+                "match(?1, ?2, ?3, ?4) against (?5 in boolean mode)", doubleType);
+    }
+
+    /**
+     * Turns a search term into a boolean-mode query requiring every word as a phrase, e.g.
+     * {@code dell 18v} becomes {@code +"dell" +"18v"}. Empty if no word is long enough to be
+     * indexed, in which case callers fall back to LIKE.
+     */
+    static Optional<String> booleanQuery(String searchTerm) {
+        if (searchTerm == null) {
+            return Optional.empty();
+        }
+        List<String> words = new ArrayList<>();
+        for (String word : BOOLEAN_OPERATORS.matcher(searchTerm).replaceAll(" ").trim().split("\\s+")) {
+            if (word.length() >= MIN_WORD_LENGTH) {
+                words.add("+\"" + word + "\"");
+            }
+        }
+        return words.isEmpty() ? Optional.empty() : Optional.of(String.join(" ", words));
+    }
+}
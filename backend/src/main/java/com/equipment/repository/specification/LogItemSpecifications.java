@@ -0,0 +1,58 @@
+package com.equipment.repository.specification;
+
+import com.equipment.model.AuditAction;
+import com.equipment.model.LogItem;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+public class LogItemSpecifications {
+
+    public static Specification<LogItem> hasBenutzerId(Integer benutzerId) {
+        if (benutzerId == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("benutzerId"), benutzerId);
+    }
+
+    public static Specification<LogItem> hasEquipmentId(Integer equipmentId) {
+        if (equipmentId == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("equipmentId"), equipmentId);
+    }
+
+    public static Specification<LogItem> hasAction(AuditAction action) {
+        if (action == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("actionType"), action);
+    }
+
+    public static Specification<LogItem> ausleihdatumFrom(LocalDateTime from) {
+        if (from == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("ausleihdatum"), from);
+    }
+
+    public static Specification<LogItem> ausleihdatumBefore(LocalDateTime to) {
+        if (to == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.lessThan(root.get("ausleihdatum"), to);
+    }
+
+    /**
+     * Seek predicate for descending (ausleihdatum, id) order: rows strictly after the given position.
+     */
+    public static Specification<LogItem> before(LocalDateTime ausleihdatum, Integer id) {
+        return (root, query, cb) -> cb.or(
+            cb.lessThan(root.get("ausleihdatum"), ausleihdatum),
+            cb.and(
+                cb.equal(root.get("ausleihdatum"), ausleihdatum),
+                cb.lessThan(root.get("id"), id)
+            )
+        );
+    }
+}
@@ -0,0 +1,25 @@
+package com.equipment.repository.specification;
+
+import org.springframework.data.jpa.domain.Specification;
+
+public class SeekSpecifications {
+
+    /**
+     * Rows strictly after (value, id) in the order (property, id), both ascending or both
+     * descending. The property must not be nullable; NULL never compares as after anything.
+     */
+    public static <T, V extends Comparable<? super V>> Specification<T> after(String property, V value, Integer id, boolean descending) {
+        if (property.equals("id")) {
+            return (root, query, cb) -> descending
+                    ? cb.lessThan(root.get("id"), id)
+                    : cb.greaterThan(root.get("id"), id);
+        }
+        return (root, query, cb) -> cb.or(
+            descending ? cb.lessThan(root.<V>get(property), value) : cb.greaterThan(root.<V>get(property), value),
+            cb.and(
+                cb.equal(root.get(property), value),
+                descending ? cb.lessThan(root.get("id"), id) : cb.greaterThan(root.get("id"), id)
+            )
+        );
+    }
+}
@@ -0,0 +1,311 @@
+package com.equipment.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Throttles the unauthenticated endpoints that cost a password hash: login, register and
+ * reset-password. Attempts are counted per client IP and per benutzername from the request
+ * body, before the request reaches any controller, database or crypto work. The body is read
+ * once and replayed to the rest of the chain.
+ * <p>
+ * Counting is in-process by default. With {@code auth.rate-limit.shared-store=true} an attempt
+ * that passes the local check is also counted in the rate_limit_bucket table, so replicas
+ * enforce one limit together; if the table cannot be reached, the local limit still applies.
+ */
+@Component
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthRateLimitFilter.class);
+
+    private static final Set<String> LIMITED_PATHS = Set.of(
+            "/api/benutzer/login", "/api/benutzer/register", "/api/benutzer/reset-password");
+
+    // Bodies of these endpoints are tiny; only this much is inspected for the username
+    private static final int MAX_INSPECTED_BODY_BYTES = 8 * 1024;
+
+    private static final int STRIPES = 16;
+    // Longest key stored as is; rate_limit_bucket.bucket_key is varchar(191)
+    private static final int MAX_KEY_LENGTH = 128;
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final boolean trustForwardedFor;
+    private final int ipLimit;
+    private final int userLimit;
+    private final SlidingWindowRateLimiter ipLimiter;
+    private final SlidingWindowRateLimiter userLimiter;
+    private final JdbcRateLimitStore sharedStore;
+
+    private final Counter allowed;
+    private final Counter rejectedByIp;
+    private final Counter rejectedByUser;
+
+    public AuthRateLimitFilter(ObjectMapper objectMapper,
+                               JdbcTemplate jdbcTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${auth.rate-limit.enabled:true}") boolean enabled,
+                               @Value("${auth.rate-limit.window-ms:60000}") long windowMs,
+                               @Value("${auth.rate-limit.ip-limit:30}") int ipLimit,
+                               @Value("${auth.rate-limit.user-limit:10}") int userLimit,
+                               @Value("${auth.rate-limit.max-keys:100000}") int maxKeys,
+                               @Value("${auth.rate-limit.trust-forwarded-for:false}") boolean trustForwardedFor,
+                               @Value("${auth.rate-limit.shared-store:false}") boolean sharedStore) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.trustForwardedFor = trustForwardedFor;
+        this.ipLimit = ipLimit;
+        this.userLimit = userLimit;
+        this.ipLimiter = new SlidingWindowRateLimiter(ipLimit, windowMs, maxKeys, STRIPES);
+        this.userLimiter = new SlidingWindowRateLimiter(userLimit, windowMs, maxKeys, STRIPES);
+        this.sharedStore = sharedStore ? new JdbcRateLimitStore(jdbcTemplate, windowMs) : null;
+
+        this.allowed = Counter.builder("auth.ratelimit.allowed")
+                .description("Authentication attempts that passed the rate limiter")
+                .register(meterRegistry);
+        this.rejectedByIp = Counter.builder("auth.ratelimit.rejected")
+                .description("Authentication attempts rejected with 429")
+                .tag("key", "ip")
+                .register(meterRegistry);
+        this.rejectedByUser = Counter.builder("auth.ratelimit.rejected")
+                .description("Authentication attempts rejected with 429")
+                .tag("key", "user")
+                .register(meterRegistry);
+        FunctionCounter.builder("auth.ratelimit.untracked", ipLimiter, SlidingWindowRateLimiter::untracked)
+                .description("Authentication attempts allowed uncounted because the limiter had no room for their key")
+                .tag("key", "ip")
+                .register(meterRegistry);
+        FunctionCounter.builder("auth.ratelimit.untracked", userLimiter, SlidingWindowRateLimiter::untracked)
+                .description("Authentication attempts allowed uncounted because the limiter had no room for their key")
+                .tag("key", "user")
+                .register(meterRegistry);
+        Gauge.builder("auth.ratelimit.keys", () -> ipLimiter.size() + userLimiter.size())
+                .description("Client IPs and usernames with live rate-limit counters")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled || "GET".equals(request.getMethod()) || "OPTIONS".equals(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !LIMITED_PATHS.contains(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+
+        String ipKey = "ip:" + clientIp(request);
+        if (!acquire(ipLimiter, ipKey, ipLimit, now)) {
+            rejectedByIp.increment();
+            reject(response, ipLimiter.millisUntilNextWindow(now));
+            return;
+        }
+
+        byte[] prefix = request.getInputStream().readNBytes(MAX_INSPECTED_BODY_BYTES);
+        String benutzername = benutzernameFrom(prefix);
+        if (benutzername != null && !acquire(userLimiter, "user:" + benutzername, userLimit, now)) {
+            rejectedByUser.increment();
+            reject(response, userLimiter.millisUntilNextWindow(now));
+            return;
+        }
+
+        allowed.increment();
+        filterChain.doFilter(new ReplayedBodyRequest(request, prefix), response);
+    }
+
+    private boolean acquire(SlidingWindowRateLimiter limiter, String rawKey, int limit, long now) {
+        String key = boundedKey(rawKey);
+        if (!limiter.tryAcquire(key, now)) {
+            return false;
+        }
+        if (sharedStore == null) {
+            return true;
+        }
+        try {
+            return sharedStore.tryAcquire(key, limit, now);
+        } catch (Exception e) {
+            log.warn("Shared rate-limit store unavailable, using local limits only: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * Keys come from client input (request body, X-Forwarded-For). Long ones are replaced by
+     * their SHA-256 so they fit rate_limit_bucket.bucket_key; the shared store would otherwise
+     * reject them and only the local limit would apply.
+     */
+    static String boundedKey(String key) {
+        if (key.length() <= MAX_KEY_LENGTH) {
+            return key;
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            int kind = key.indexOf(':') + 1;
+            byte[] hash = digest.digest(key.getBytes(StandardCharsets.UTF_8));
+            return key.substring(0, kind) + "sha256:" + HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private String benutzernameFrom(byte[] body) {
+        if (body.length == 0) {
+            return null;
+        }
+        try {
+            JsonNode name = objectMapper.readTree(body).get("benutzername");
+            if (name == null || !name.isTextual() || name.asText().isBlank()) {
+                return null;
+            }
+            return name.asText().trim().toLowerCase(Locale.ROOT);
+        } catch (IOException e) {
+            // Truncated or malformed; the controller rejects it, the IP limit still counted it
+            return null;
+        }
+    }
+
+    private String clientIp(HttpServletRequest request) {
+        if (trustForwardedFor) {
+            String forwarded = request.getHeader("X-Forwarded-For");
+            if (forwarded != null && !forwarded.isBlank()) {
+                int comma = forwarded.indexOf(',');
+                return (comma < 0 ? forwarded : forwarded.substring(0, comma)).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private static void reject(HttpServletResponse response, long retryAfterMs) throws IOException {
+        response.setStatus(429);
+        response.setHeader("Retry-After", String.valueOf(Math.max(1, (retryAfterMs + 999) / 1000)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"Too many attempts. Please try again later.\"}");
+    }
+
+    @Scheduled(fixedDelayString = "${auth.rate-limit.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        long now = System.currentTimeMillis();
+        int evicted = ipLimiter.evictIdle(now) + userLimiter.evictIdle(now);
+        if (evicted > 0) {
+            log.debug("Evicted {} idle rate-limit keys", evicted);
+        }
+        if (sharedStore != null) {
+            try {
+                sharedStore.purge(now);
+            } catch (Exception e) {
+                log.warn("Failed to purge shared rate-limit counters: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Serves the already consumed prefix of the body, followed by whatever was not read yet.
+     */
+    private static final class ReplayedBodyRequest extends HttpServletRequestWrapper {
+
+        private final ByteArrayInputStream prefix;
+        private final ServletInputStream original;
+        private final InputStream body;
+
+        ReplayedBodyRequest(HttpServletRequest request, byte[] prefix) throws IOException {
+            super(request);
+            this.prefix = new ByteArrayInputStream(prefix);
+            this.original = request.getInputStream();
+            this.body = new SequenceInputStream(this.prefix, original);
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(body,
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return new ServletInputStream() {
+                @Override
+                public int read() throws IOException {
+                    return body.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    return body.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return prefix.available() == 0 && original.isFinished();
+                }
+
+                @Override
+                public boolean isReady() {
+                    return prefix.available() > 0 || original.isReady();
+                }
+
+                // The container only signals the unread rest of the body, so the listener is sent
+                // to the prefix before it hears that the original stream is done
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    original.setReadListener(new ReadListener() {
+                        @Override
+                        public void onDataAvailable() throws IOException {
+                            readListener.onDataAvailable();
+                        }
+
+                        @Override
+                        public void onAllDataRead() throws IOException {
+                            if (prefix.available() > 0) {
+                                readListener.onDataAvailable();
+                            }
+                            readListener.onAllDataRead();
+                        }
+
+                        @Override
+                        public void onError(Throwable t) {
+                            readListener.onError(t);
+                        }
+                    });
+                }
+            };
+        }
+    }
+}
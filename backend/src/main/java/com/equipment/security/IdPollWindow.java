@@ -0,0 +1,61 @@
+package com.equipment.security;
+
+import java.util.TreeSet;
+
+/**
+ * Read position for polling an append-only table by auto-increment id. Ids are allocated at
+ * insert but become visible at commit, so a row can appear after rows with higher ids have
+ * already been read. Each poll therefore re-reads the last {@code overlap} ids, and the ids
+ * seen in that window are remembered so a row is handled once.
+ * <p>
+ * Not thread-safe; callers poll under their own lock.
+ */
+final class IdPollWindow {
+
+    private final long overlap;
+    private final TreeSet<Long> seenInWindow = new TreeSet<>();
+    private long highestSeen = -1;
+
+    IdPollWindow(long overlap) {
+        this.overlap = overlap;
+    }
+
+    boolean isStarted() {
+        return highestSeen >= 0;
+    }
+
+    /**
+     * Exclusive lower bound for the next poll query.
+     */
+    long readAfter() {
+        return Math.max(0, highestSeen - overlap);
+    }
+
+    /**
+     * Records a row read by a poll; true the first time the id is seen.
+     */
+    boolean markSeen(long id) {
+        if (id <= readAfter() && highestSeen >= 0) {
+            return false;
+        }
+        boolean first = seenInWindow.add(id);
+        highestSeen = Math.max(highestSeen, id);
+        return first;
+    }
+
+    /**
+     * Forgets ids that fell out of the window; call after each poll.
+     */
+    void prune() {
+        seenInWindow.headSet(readAfter(), true).clear();
+    }
+
+    /**
+     * Starts reading after the given id without a full load; ids in the overlap below it are
+     * read once more by the next poll.
+     */
+    void reset(long highestLoaded) {
+        seenInWindow.clear();
+        highestSeen = highestLoaded;
+    }
+}
@@ -0,0 +1,39 @@
+package com.equipment.security;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Rate-limit counters in the rate_limit_bucket table, shared by all replicas. Uses the same
+ * two-window approximation as {@link SlidingWindowRateLimiter}, but counts every attempt,
+ * including rejected ones, since the increment and the check are one round trip each.
+ */
+final class JdbcRateLimitStore {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long windowMs;
+
+    JdbcRateLimitStore(JdbcTemplate jdbcTemplate, long windowMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.windowMs = windowMs;
+    }
+
+    boolean tryAcquire(String key, int limit, long nowMs) {
+        long windowStart = nowMs - nowMs % windowMs;
+        jdbcTemplate.update("INSERT INTO rate_limit_bucket (bucket_key, window_start, hits) VALUES (?, ?, 1) "
+                + "ON DUPLICATE KEY UPDATE hits = hits + 1", key, windowStart);
+
+        long[] hits = new long[2];
+        jdbcTemplate.query("SELECT window_start, hits FROM rate_limit_bucket WHERE bucket_key = ? AND window_start >= ?",
+                rs -> {
+                    hits[rs.getLong("window_start") == windowStart ? 1 : 0] += rs.getLong("hits");
+                },
+                key, windowStart - windowMs);
+
+        double previousWeight = 1.0 - (double) (nowMs - windowStart) / windowMs;
+        return hits[0] * previousWeight + hits[1] <= limit;
+    }
+
+    int purge(long nowMs) {
+        return jdbcTemplate.update("DELETE FROM rate_limit_bucket WHERE window_start < ?", nowMs - 2 * windowMs);
+    }
+}
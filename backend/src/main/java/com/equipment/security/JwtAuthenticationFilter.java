@@ -1,10 +1,13 @@
 package com.equipment.security;
 
-import com.equipment.repository.BenutzerRepository;
+import com.equipment.model.AccountStatus;
+import com.equipment.model.Benutzer;
+import com.equipment.model.Role;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -16,12 +19,27 @@ import java.io.IOException;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    /** Request attribute holding the {@link VerifiedToken} of an authenticated request, e.g. for logout */
+    public static final String VERIFIED_TOKEN_ATTRIBUTE = "com.equipment.security.VerifiedToken";
+
+    // Logout has to work with an expired or revoked access token so the refresh token can still be revoked
+    private static final String LOGOUT_PATH = "/api/benutzer/logout";
+
     private final JwtService jwtService;
-    private final BenutzerRepository benutzerRepository;
+    private final PrincipalCache principalCache;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final TokenRevocationList tokenRevocationList;
+    // When set, the principal is built from the signed claims alone and the user row is never read
+    private final boolean claimsOnlyPrincipal;
 
-    public JwtAuthenticationFilter(JwtService jwtService, BenutzerRepository benutzerRepository) {
+    public JwtAuthenticationFilter(JwtService jwtService, PrincipalCache principalCache, TokenVersionRegistry tokenVersionRegistry,
+                                   TokenRevocationList tokenRevocationList,
+                                   @Value("${auth.claims-only-principal:false}") boolean claimsOnlyPrincipal) {
         this.jwtService = jwtService;
-        this.benutzerRepository = benutzerRepository;
+        this.principalCache = principalCache;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.tokenRevocationList = tokenRevocationList;
+        this.claimsOnlyPrincipal = claimsOnlyPrincipal;
     }
 
     @Override
@@ -41,15 +59,35 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         jwt = authHeader.substring(7);
 
-        if (!jwtService.validateToken(jwt)) {
-            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        VerifiedToken token = jwtService.verify(jwt);
+        if (!token.isValid()) {
+            reject(request, response, filterChain);
+            return;
+        }
+        // Tokens issued before ids were embedded carry none and expire on their own
+        if (token.tokenId() != null && tokenRevocationList.isRevoked(token.tokenId())) {
+            reject(request, response, filterChain);
             return;
         }
 
-        benutzername = jwtService.extractUsername(jwt);
+        benutzername = token.benutzername();
 
         if (benutzername != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            var benutzer = benutzerRepository.findByBenutzername(benutzername).orElse(null);
+            Benutzer benutzer;
+            if (claimsOnlyPrincipal) {
+                if (!token.hasPrincipalClaims() || !tokenVersionRegistry.isCurrent(benutzername, token.tokenVersion())) {
+                    reject(request, response, filterChain);
+                    return;
+                }
+                benutzer = principalFromClaims(token);
+            } else {
+                benutzer = principalCache.getOrLoad(benutzername).orElse(null);
+                // Tokens issued before versions were embedded carry none and are still accepted here
+                if (benutzer != null && token.tokenVersion() != null && token.tokenVersion() != benutzer.getTokenVersion()) {
+                    reject(request, response, filterChain);
+                    return;
+                }
+            }
 
             if (benutzer != null) {
                 var benutzerDetails = new com.equipment.security.BenutzerDetails(benutzer);
@@ -60,9 +98,36 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 );
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
+                request.setAttribute(VERIFIED_TOKEN_ATTRIBUTE, token);
             }
         }
 
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    /**
+     * Answers 401 for an unusable access token, except on logout, which continues unauthenticated.
+     */
+    private static void reject(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (LOGOUT_PATH.equals(request.getRequestURI().substring(request.getContextPath().length()))) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+    }
+
+    /**
+     * A detached user carrying only the identity fields from the token. Services that need the
+     * rest of the account (or want to modify it) load the entity by id.
+     */
+    private static Benutzer principalFromClaims(VerifiedToken token) {
+        Benutzer benutzer = new Benutzer();
+        benutzer.setId(token.userId());
+        benutzer.setBenutzername(token.benutzername());
+        benutzer.setRole(Role.valueOf(token.role()));
+        benutzer.setAccountStatus(AccountStatus.valueOf(token.accountStatus()));
+        benutzer.setTokenVersion(token.tokenVersion());
+        return benutzer;
+    }
+}
@@ -9,64 +9,83 @@ import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 @Service
 public class JwtService {
 
-        @Value("${jwt.secret}")
-        private String secretKey;
+    private static final String CLAIM_USER_ID = "uid";
+    private static final String CLAIM_ACCOUNT_STATUS = "status";
+    private static final String CLAIM_TOKEN_VERSION = "tv";
 
-        @Value("${jwt.expiration}")
-        private long jwtExpiration;
+    private final Key signingKey;
+    private final JwtParser parser;
+    private final long jwtExpiration;
 
-        // Generate the token
-        public String generateToken(Benutzer benutzer) {
-            Map<String, Object> claims = new HashMap<>();
-            claims.put("benutzername", benutzer.getBenutzername());
-            claims.put("role", benutzer.getRole() != null ? benutzer.getRole().name() : "USER");
+    public JwtService(@Value("${jwt.secret}") String secretKey, @Value("${jwt.expiration}") long jwtExpiration) {
+        this.signingKey = Keys.hmacShaKeyFor(secretKey.getBytes());
+        this.jwtExpiration = jwtExpiration;
+        // The parser is immutable and thread-safe, so one instance serves all requests. Its clock is
+        // pinned to the epoch so jjwt never rejects a token as expired: verify() compares exp itself
+        // and reports expiry as a status instead of an exception with a stack trace.
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .setClock(() -> new Date(0))
+                .build();
+    }
 
-            return Jwts.builder()
-                    .setClaims(claims)
-                    .setSubject(benutzer.getBenutzername())
-                    .setIssuedAt(new Date(System.currentTimeMillis()))
-                    .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                    .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                    .compact();
-        }
+    // Generate the token; each carries a unique id (jti) so it can be revoked individually
+    public String generateToken(Benutzer benutzer) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("benutzername", benutzer.getBenutzername());
+        claims.put("role", benutzer.getRole() != null ? benutzer.getRole().name() : "USER");
+        claims.put(CLAIM_USER_ID, benutzer.getId());
+        claims.put(CLAIM_ACCOUNT_STATUS, benutzer.getAccountStatus() != null ? benutzer.getAccountStatus().name() : null);
+        claims.put(CLAIM_TOKEN_VERSION, benutzer.getTokenVersion());
 
-        private Key getSigningKey() {
-            byte[] keyBytes = secretKey.getBytes();
-            return Keys.hmacShaKeyFor(keyBytes);
-        }
+        return Jwts.builder()
+                .setClaims(claims)
+                .setSubject(benutzer.getBenutzername())
+                .setId(UUID.randomUUID().toString())
+                .setIssuedAt(new Date(System.currentTimeMillis()))
+                .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
+                .compact();
+    }
 
-        public String extractUsername(String token) {
-            return extractClaim(token, Claims::getSubject);
-        }
+    public long getExpirationSeconds() {
+        return jwtExpiration / 1000;
+    }
 
-    public boolean validateToken(String token) {
+    /**
+     * Checks signature and expiry in a single parse and returns the claims the filter needs.
+     */
+    public VerifiedToken verify(String token) {
+        Claims claims;
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (ExpiredJwtException e) {
-            throw new JwtException("JWT token has expired", e);
-        } catch (JwtException e) {
-            throw new JwtException("Invalid JWT token", e);
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return VerifiedToken.invalid();
         }
-    }
 
-    private <T> T extractClaim(String token, java.util.function.Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        Date expiration = claims.getExpiration();
+        if (expiration == null || claims.getSubject() == null) {
+            return VerifiedToken.invalid();
+        }
+        if (expiration.getTime() <= System.currentTimeMillis()) {
+            return VerifiedToken.expired();
+        }
+        try {
+            return VerifiedToken.valid(
+                    claims.get(CLAIM_USER_ID, Integer.class),
+                    claims.getSubject(),
+                    claims.get("role", String.class),
+                    claims.get(CLAIM_ACCOUNT_STATUS, String.class),
+                    claims.get(CLAIM_TOKEN_VERSION, Integer.class),
+                    expiration.toInstant(),
+                    claims.getId());
+        } catch (RequiredTypeException e) {
+            return VerifiedToken.invalid();
+        }
     }
-    }
\ No newline at end of file
+}
@@ -0,0 +1,67 @@
+package com.equipment.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times the configured password encoder once at startup and logs it against the login latency
+ * target, so the work factor can be sized per deployment. For BCrypt it also suggests the highest
+ * strength that stays within the target (each step doubles the cost).
+ */
+@Component
+public class PasswordCostCalibration {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordCostCalibration.class);
+
+    private static final int SAMPLES = 3;
+
+    private final PasswordEncoder passwordEncoder;
+    private final boolean enabled;
+    private final String encodingId;
+    private final int bcryptStrength;
+    private final long targetLatencyMs;
+
+    public PasswordCostCalibration(PasswordEncoder passwordEncoder,
+                                   @Value("${auth.password.calibrate-on-startup:true}") boolean enabled,
+                                   @Value("${auth.password.encoder:bcrypt}") String encodingId,
+                                   @Value("${auth.password.bcrypt-strength:10}") int bcryptStrength,
+                                   @Value("${auth.password.target-latency-ms:250}") long targetLatencyMs) {
+        this.passwordEncoder = passwordEncoder;
+        this.enabled = enabled;
+        this.encodingId = encodingId;
+        this.bcryptStrength = bcryptStrength;
+        this.targetLatencyMs = targetLatencyMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void calibrate() {
+        if (!enabled) {
+            return;
+        }
+        // The first call pays for class loading and JIT warm-up
+        passwordEncoder.encode("calibration");
+        long start = System.nanoTime();
+        for (int i = 0; i < SAMPLES; i++) {
+            passwordEncoder.encode("calibration");
+        }
+        double millisPerHash = (System.nanoTime() - start) / 1_000_000.0 / SAMPLES;
+
+        if ("bcrypt".equals(encodingId)) {
+            int suggested = bcryptStrength + (int) Math.floor(Math.log(targetLatencyMs / millisPerHash) / Math.log(2));
+            suggested = Math.max(4, Math.min(31, suggested));
+            log.info("Password hashing ({} strength {}) takes {} ms per hash; strength {} fits the {} ms login target",
+                    encodingId, bcryptStrength, String.format("%.1f", millisPerHash), suggested, targetLatencyMs);
+        } else {
+            log.info("Password hashing ({}) takes {} ms per hash (login target {} ms)",
+                    encodingId, String.format("%.1f", millisPerHash), targetLatencyMs);
+        }
+        if (millisPerHash > targetLatencyMs) {
+            log.warn("Password hashing exceeds the {} ms login latency target", targetLatencyMs);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.equipment.security;
+
+import com.equipment.event.BenutzerChangedEvent;
+import com.equipment.model.Benutzer;
+import com.equipment.repository.BenutzerRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Short-lived, size-bounded cache of authenticated users keyed by benutzername, so the JWT
+ * filter does not hit the database on every request. Callers always get a private copy since
+ * services modify and save the principal they are handed.
+ * <p>
+ * Account changes publish a {@link BenutzerChangedEvent}; the user is evicted locally after
+ * commit and a row in principal_invalidation, written inside the same transaction, tells the
+ * other replicas to evict it as well. The TTL bounds staleness if a replica misses a poll.
+ * The same invalidations drop the user's entry in the {@link TokenVersionRegistry}.
+ */
+@Component
+public class PrincipalCache {
+
+    private static final Logger log = LoggerFactory.getLogger(PrincipalCache.class);
+
+    private final BenutzerRepository benutzerRepository;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final long invalidationRetentionMs;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // Bumped on every eviction so a load racing with an invalidation is not cached
+    private final AtomicLong generation = new AtomicLong();
+    // Guarded by this (the poll)
+    private final IdPollWindow invalidationWindow;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public PrincipalCache(BenutzerRepository benutzerRepository,
+                          TokenVersionRegistry tokenVersionRegistry,
+                          JdbcTemplate jdbcTemplate,
+                          MeterRegistry meterRegistry,
+                          @Value("${auth.principal-cache.max-size:10000}") int maxSize,
+                          @Value("${auth.principal-cache.ttl-ms:60000}") long ttlMs,
+                          @Value("${auth.principal-cache.invalidation-retention-ms:3600000}") long invalidationRetentionMs,
+                          @Value("${auth.principal-cache.invalidation-poll-overlap:100}") long invalidationPollOverlap) {
+        this.benutzerRepository = benutzerRepository;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlMs * 1_000_000L;
+        this.invalidationRetentionMs = invalidationRetentionMs;
+        this.invalidationWindow = new IdPollWindow(invalidationPollOverlap);
+
+        this.hits = Counter.builder("auth.principal.cache.hits")
+                .description("Authenticated requests whose user was served from the principal cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("auth.principal.cache.misses")
+                .description("Authenticated requests that loaded the user from the database")
+                .register(meterRegistry);
+        Gauge.builder("auth.principal.cache.size", entries, Map::size)
+                .description("Users held in the principal cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns a copy of the user, loading and caching it on a miss. Empty if the user does not exist.
+     */
+    public Optional<Benutzer> getOrLoad(String benutzername) {
+        Entry entry = entries.get(benutzername);
+        if (entry != null && entry.expiresAt() - System.nanoTime() > 0) {
+            hits.increment();
+            return Optional.of(copyOf(entry.benutzer()));
+        }
+        misses.increment();
+
+        long generationBeforeLoad = generation.get();
+        Optional<Benutzer> loaded = benutzerRepository.findByBenutzername(benutzername);
+        loaded.ifPresent(benutzer -> {
+            if (generation.get() == generationBeforeLoad) {
+                put(benutzername, copyOf(benutzer));
+            }
+        });
+        return loaded;
+    }
+
+    /**
+     * Drops everything cached about the user on this replica.
+     */
+    public void invalidate(String benutzername) {
+        generation.incrementAndGet();
+        entries.remove(benutzername);
+        tokenVersionRegistry.evict(benutzername);
+    }
+
+    private void put(String benutzername, Benutzer benutzer) {
+        if (entries.size() >= maxSize && !entries.containsKey(benutzername)) {
+            makeRoom();
+        }
+        entries.put(benutzername, new Entry(benutzer, System.nanoTime() + ttlNanos));
+    }
+
+    /**
+     * Drops expired entries, then the entry closest to expiry if the cache is still full.
+     * Only runs when the cache is at capacity.
+     */
+    private void makeRoom() {
+        long now = System.nanoTime();
+        entries.values().removeIf(e -> e.expiresAt() - now <= 0);
+        if (entries.size() >= maxSize) {
+            entries.entrySet().stream()
+                    .min((a, b) -> Long.compare(a.getValue().expiresAt() - now, b.getValue().expiresAt() - now))
+                    .ifPresent(oldest -> entries.remove(oldest.getKey(), oldest.getValue()));
+        }
+    }
+
+    /**
+     * Writes the invalidation for other replicas as part of the transaction that changed the user.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void recordInvalidation(BenutzerChangedEvent event) {
+        List<Object[]> rows = event.getBenutzernamen().stream().map(name -> new Object[]{name}).toList();
+        jdbcTemplate.batchUpdate("INSERT INTO principal_invalidation (benutzername) VALUES (?)", rows);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBenutzerChanged(BenutzerChangedEvent event) {
+        event.getBenutzernamen().forEach(this::invalidate);
+    }
+
+    @Scheduled(fixedDelayString = "${auth.principal-cache.invalidation-poll-ms:2000}")
+    public synchronized void pollInvalidations() {
+        try {
+            if (!invalidationWindow.isStarted()) {
+                Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM principal_invalidation", Long.class);
+                invalidationWindow.reset(maxId != null ? maxId : 0);
+                return;
+            }
+            // Re-reads a window below the highest id seen: a row whose id was allocated earlier can commit later
+            jdbcTemplate.query("SELECT id, benutzername FROM principal_invalidation WHERE id > ? ORDER BY id",
+                    rs -> {
+                        if (invalidationWindow.markSeen(rs.getLong("id"))) {
+                            invalidate(rs.getString("benutzername"));
+                        }
+                    },
+                    invalidationWindow.readAfter());
+            invalidationWindow.prune();
+        } catch (Exception e) {
+            // Entries still expire by TTL; clear everything so a replica that cannot poll does not serve stale users
+            entries.clear();
+            generation.incrementAndGet();
+            log.warn("Failed to poll principal invalidations: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${auth.principal-cache.invalidation-purge-interval-ms:600000}")
+    public void purgeInvalidations() {
+        try {
+            jdbcTemplate.update("DELETE FROM principal_invalidation WHERE created_at < ?",
+                    Timestamp.valueOf(LocalDateTime.now().minusNanos(invalidationRetentionMs * 1_000_000L)));
+        } catch (Exception e) {
+            log.warn("Failed to purge principal invalidations: {}", e.getMessage());
+        }
+    }
+
+    private static Benutzer copyOf(Benutzer source) {
+        Benutzer copy = new Benutzer();
+        copy.setId(source.getId());
+        copy.setBenutzername(source.getBenutzername());
+        copy.setVorname(source.getVorname());
+        copy.setNachname(source.getNachname());
+        copy.setEmail(source.getEmail());
+        copy.setPasswordHash(source.getPasswordHash() != null ? source.getPasswordHash().clone() : null);
+        copy.setPasswordSalt(source.getPasswordSalt() != null ? source.getPasswordSalt().clone() : null);
+        copy.setRole(source.getRole());
+        copy.setAccountStatus(source.getAccountStatus());
+        copy.setTwoFactorEnabled(source.isTwoFactorEnabled());
+        copy.setTwoFactorSecret(source.getTwoFactorSecret());
+        copy.setTokenVersion(source.getTokenVersion());
+        copy.setLastLogin(source.getLastLogin());
+        copy.setCreatedAt(source.getCreatedAt());
+        copy.setUpdatedAt(source.getUpdatedAt());
+        return copy;
+    }
+
+    private record Entry(Benutzer benutzer, long expiresAt) {}
+}
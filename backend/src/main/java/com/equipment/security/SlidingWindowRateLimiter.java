@@ -0,0 +1,143 @@
+package com.equipment.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sliding-window counters per key, approximated from two fixed windows: the count of the
+ * previous window is weighted by how much of it still overlaps the sliding window. Each key's
+ * state (window index, previous count, current count) is packed into one long and updated with
+ * compare-and-set, so checks never block.
+ * <p>
+ * Keys are spread over striped maps. Memory is bounded per stripe: keys idle for two windows
+ * are removed by {@link #evictIdle}, which the owner runs on a timer. While a stripe is full,
+ * new keys are not tracked and their attempts are allowed and counted in {@link #untracked()}.
+ * A burst of new keys therefore costs no scan on the request path and cannot lock out other
+ * keys that land in the same stripe.
+ */
+final class SlidingWindowRateLimiter {
+
+    private static final int MAX_COUNT = 0xFFFF;
+
+    private final int limit;
+    private final long windowMs;
+    private final int maxKeysPerStripe;
+    private final Map<String, AtomicLong>[] stripes;
+    private final LongAdder untracked = new LongAdder();
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    SlidingWindowRateLimiter(int limit, long windowMs, int maxKeys, int stripeCount) {
+        this.limit = Math.min(limit, MAX_COUNT);
+        this.windowMs = windowMs;
+        this.maxKeysPerStripe = Math.max(1, maxKeys / stripeCount);
+        this.stripes = new Map[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * Counts an attempt for the key unless that would exceed the limit.
+     *
+     * @return whether the attempt is allowed; always true for a key that cannot be tracked
+     */
+    boolean tryAcquire(String key, long nowMs) {
+        AtomicLong state = counterFor(key);
+        if (state == null) {
+            untracked.increment();
+            return true;
+        }
+        long window = nowMs / windowMs;
+        double previousWeight = 1.0 - (double) (nowMs % windowMs) / windowMs;
+        while (true) {
+            long packed = state.get();
+            long current = rolled(packed, window);
+            double estimate = previous(current) * previousWeight + count(current);
+            if (estimate + 1 > limit) {
+                return false;
+            }
+            if (state.compareAndSet(packed, pack(window, previous(current), count(current) + 1))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Milliseconds until the current window ends, a safe hint for Retry-After.
+     */
+    long millisUntilNextWindow(long nowMs) {
+        return windowMs - nowMs % windowMs;
+    }
+
+    /**
+     * Removes keys whose windows no longer count, i.e. that saw no attempt in the last two windows.
+     * An attempt racing with the removal of its key may go uncounted.
+     */
+    int evictIdle(long nowMs) {
+        long window = nowMs / windowMs;
+        int evicted = 0;
+        for (Map<String, AtomicLong> stripe : stripes) {
+            for (Map.Entry<String, AtomicLong> entry : stripe.entrySet()) {
+                if (isIdle(entry.getValue().get(), window) && stripe.remove(entry.getKey(), entry.getValue())) {
+                    evicted++;
+                }
+            }
+        }
+        return evicted;
+    }
+
+    int size() {
+        int size = 0;
+        for (Map<String, AtomicLong> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    /**
+     * Attempts allowed without counting because the key's stripe was full.
+     */
+    long untracked() {
+        return untracked.sum();
+    }
+
+    // Null if the key is new and its stripe is full
+    private AtomicLong counterFor(String key) {
+        Map<String, AtomicLong> stripe = stripes[(key.hashCode() & 0x7fffffff) % stripes.length];
+        AtomicLong state = stripe.get(key);
+        if (state != null || stripe.size() >= maxKeysPerStripe) {
+            return state;
+        }
+        return stripe.computeIfAbsent(key, k -> new AtomicLong());
+    }
+
+    private static boolean isIdle(long packed, long window) {
+        return window - (packed >>> 32) > 1;
+    }
+
+    // Moves the counts forward if the stored window is not the current one
+    private static long rolled(long packed, long window) {
+        long stored = packed >>> 32;
+        if (stored == window) {
+            return packed;
+        }
+        if (stored == window - 1) {
+            return pack(window, count(packed), 0);
+        }
+        return pack(window, 0, 0);
+    }
+
+    private static long pack(long window, long previous, long count) {
+        return (window << 32) | (Math.min(previous, MAX_COUNT) << 16) | Math.min(count, MAX_COUNT);
+    }
+
+    private static long previous(long packed) {
+        return (packed >>> 16) & MAX_COUNT;
+    }
+
+    private static long count(long packed) {
+        return packed & MAX_COUNT;
+    }
+}
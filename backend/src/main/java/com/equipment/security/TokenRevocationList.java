@@ -0,0 +1,159 @@
+package com.equipment.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ids (jti) of access tokens revoked before their expiry, e.g. on logout. The filter checks
+ * every request against an in-memory Bloom filter, so the common case of a token that was
+ * never revoked needs no database access. Only a filter hit is confirmed against the
+ * revoked_token table, which makes false positives cost a query rather than a rejected request.
+ * <p>
+ * Revocations are written to revoked_token first; every replica loads the table at startup and
+ * polls it for new ids, re-reading a small window of recent ids to catch rows that committed out
+ * of id order. Since access tokens are short-lived, rows are only needed until the token
+ * expires: the periodic rebuild purges expired rows and replaces the filter with one holding
+ * only the live revocations, which keeps its false-positive rate from creeping up.
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int expectedRevocations;
+    private final double falsePositiveProbability;
+
+    private final long pollOverlap;
+
+    private volatile BloomFilter filter;
+    // Guarded by this; replaced on every rebuild
+    private IdPollWindow pollWindow;
+    private final AtomicInteger entries = new AtomicInteger();
+
+    private final Counter falsePositives;
+
+    public TokenRevocationList(JdbcTemplate jdbcTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${auth.revocation.expected-revocations:100000}") int expectedRevocations,
+                               @Value("${auth.revocation.false-positive-probability:0.001}") double falsePositiveProbability,
+                               @Value("${auth.revocation.poll-overlap:100}") long pollOverlap) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.pollOverlap = pollOverlap;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.filter = new BloomFilter(expectedRevocations, falsePositiveProbability);
+
+        Gauge.builder("auth.revocation.entries", entries, AtomicInteger::get)
+                .description("Revoked, not yet expired access tokens held in the revocation filter")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("auth.revocation.false-positives")
+                .description("Revocation filter hits that the database did not confirm")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Revokes the access token with the given id until it expires, on every replica.
+     */
+    public void revoke(String tokenId, Instant expiresAt) {
+        jdbcTemplate.update("INSERT IGNORE INTO revoked_token (jti, expires_at) VALUES (?, ?)",
+                tokenId, Timestamp.from(expiresAt));
+        filter.add(tokenId);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (!filter.mightContain(tokenId)) {
+            return false;
+        }
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM revoked_token WHERE jti = ?", Integer.class, tokenId);
+        if (count == null || count == 0) {
+            falsePositives.increment();
+            return false;
+        }
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${auth.revocation.poll-ms:2000}")
+    public synchronized void pollRevocations() {
+        if (pollWindow == null) {
+            // Not loaded yet; the startup rebuild reads everything
+            return;
+        }
+        try {
+            poll();
+        } catch (Exception e) {
+            log.warn("Failed to poll token revocations: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Purges expired revocations and swaps in a filter sized for the remaining ones.
+     */
+    @Scheduled(initialDelayString = "${auth.revocation.rebuild-interval-ms:900000}",
+               fixedDelayString = "${auth.revocation.rebuild-interval-ms:900000}")
+    public synchronized void rebuild() {
+        try {
+            Timestamp now = Timestamp.from(Instant.now());
+            jdbcTemplate.update("DELETE FROM revoked_token WHERE expires_at < ?", now);
+
+            Integer live = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM revoked_token WHERE expires_at >= ?", Integer.class, now);
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, live != null ? live * 2 : 0),
+                    falsePositiveProbability);
+            IdPollWindow window = new IdPollWindow(pollOverlap);
+            AtomicInteger loaded = new AtomicInteger();
+            jdbcTemplate.query("SELECT id, jti FROM revoked_token WHERE expires_at >= ?",
+                    rs -> {
+                        rebuilt.add(rs.getString("jti"));
+                        window.markSeen(rs.getLong("id"));
+                        loaded.incrementAndGet();
+                    },
+                    now);
+            window.prune();
+
+            // Revocations committed while loading are picked up by the poll below
+            filter = rebuilt;
+            entries.set(loaded.get());
+            pollWindow = window;
+            poll();
+            log.debug("Token revocation filter rebuilt with {} entries ({} bytes)", entries.get(), rebuilt.sizeInBytes());
+        } catch (Exception e) {
+            log.error("Failed to rebuild token revocation filter: {}", e.getMessage());
+        }
+    }
+
+    // Re-reads an overlap window below the highest id seen, since a row whose id was allocated
+    // earlier can commit after a higher one; adding a jti to the filter twice is harmless
+    private synchronized void poll() {
+        BloomFilter target = filter;
+        IdPollWindow window = pollWindow;
+        jdbcTemplate.query("SELECT id, jti FROM revoked_token WHERE id > ? ORDER BY id",
+                rs -> {
+                    if (window.markSeen(rs.getLong("id"))) {
+                        target.add(rs.getString("jti"));
+                        entries.incrementAndGet();
+                    }
+                },
+                window.readAfter());
+        window.prune();
+    }
+}
@@ -0,0 +1,91 @@
+package com.equipment.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory map of each user's current token version, keyed by benutzername. A token is
+ * only accepted if it carries the current version, so bumping the version in the database
+ * revokes every token issued before. Entries are preloaded at startup and dropped through
+ * {@link PrincipalCache#invalidate(String)} when an account changes on any replica; the next
+ * request for that user reloads a single column.
+ */
+@Component
+public class TokenVersionRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenVersionRegistry.class);
+
+    // Cached for users that do not exist (any more), so their tokens are rejected without a query
+    private static final int DELETED = -1;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean preload;
+
+    private final Map<String, Integer> versions = new ConcurrentHashMap<>();
+    // Bumped on every eviction so a load racing with an invalidation is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public TokenVersionRegistry(JdbcTemplate jdbcTemplate,
+                                @Value("${auth.claims-only-principal:false}") boolean preload) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.preload = preload;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!preload) {
+            return;
+        }
+        long generationBeforeLoad = generation.get();
+        try {
+            Map<String, Integer> loaded = new ConcurrentHashMap<>();
+            jdbcTemplate.query("SELECT benutzername, token_version FROM benutzer",
+                    rs -> {
+                        loaded.put(rs.getString("benutzername"), rs.getInt("token_version"));
+                    });
+            if (generation.get() == generationBeforeLoad) {
+                loaded.forEach(versions::putIfAbsent);
+            }
+            log.debug("Token version registry preloaded with {} users", loaded.size());
+        } catch (Exception e) {
+            log.error("Failed to preload token versions: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Whether {@code tokenVersion} is the user's current version. False for unknown or deleted users.
+     */
+    public boolean isCurrent(String benutzername, int tokenVersion) {
+        Integer current = versions.get(benutzername);
+        if (current == null) {
+            current = load(benutzername);
+        }
+        return current != DELETED && current == tokenVersion;
+    }
+
+    public void evict(String benutzername) {
+        generation.incrementAndGet();
+        versions.remove(benutzername);
+    }
+
+    private int load(String benutzername) {
+        long generationBeforeLoad = generation.get();
+        List<Integer> rows = jdbcTemplate.queryForList(
+                "SELECT token_version FROM benutzer WHERE benutzername = ?", Integer.class, benutzername);
+        int version = rows.isEmpty() ? DELETED : rows.get(0);
+        if (generation.get() == generationBeforeLoad) {
+            versions.put(benutzername, version);
+        }
+        return version;
+    }
+}
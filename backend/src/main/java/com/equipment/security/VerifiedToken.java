@@ -0,0 +1,46 @@
+package com.equipment.security;
+
+import java.time.Instant;
+
+/**
+ * Outcome of verifying a JWT once: its status and, for valid tokens, the claims the
+ * authentication path needs.
+ */
+public record VerifiedToken(Status status, Integer userId, String benutzername, String role, String accountStatus,
+                            Integer tokenVersion, Instant expiresAt, String tokenId) {
+
+    public enum Status {
+        VALID,
+        EXPIRED,
+        /** Malformed, wrongly signed or missing required claims */
+        INVALID
+    }
+
+    private static final VerifiedToken EXPIRED = new VerifiedToken(Status.EXPIRED, null, null, null, null, null, null, null);
+    private static final VerifiedToken INVALID = new VerifiedToken(Status.INVALID, null, null, null, null, null, null, null);
+
+    static VerifiedToken valid(Integer userId, String benutzername, String role, String accountStatus,
+                               Integer tokenVersion, Instant expiresAt, String tokenId) {
+        return new VerifiedToken(Status.VALID, userId, benutzername, role, accountStatus, tokenVersion, expiresAt, tokenId);
+    }
+
+    static VerifiedToken expired() {
+        return EXPIRED;
+    }
+
+    static VerifiedToken invalid() {
+        return INVALID;
+    }
+
+    public boolean isValid() {
+        return status == Status.VALID;
+    }
+
+    /**
+     * Whether the token carries everything needed to build the principal without a database lookup.
+     * Tokens issued before user id, status and version were embedded do not.
+     */
+    public boolean hasPrincipalClaims() {
+        return userId != null && role != null && accountStatus != null && tokenVersion != null;
+    }
+}
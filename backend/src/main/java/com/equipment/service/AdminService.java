@@ -1,19 +1,21 @@
 package com.equipment.service;
 
 import com.equipment.dto.*;
+import com.equipment.event.BenutzerChangedEvent;
+import com.equipment.event.EquipmentChangedEvent;
 import com.equipment.exception.EquipmentException;
 import com.equipment.model.Benutzer;
 import com.equipment.model.Equipment;
-import com.equipment.model.LogItem;
+import com.equipment.model.EquipmentStatus;
 import com.equipment.model.Ausleihe;
 import com.equipment.model.Role;
 import com.equipment.model.AccountStatus;
 import com.equipment.repository.AusleiheRepository;
 import com.equipment.repository.BenutzerRepository;
 import com.equipment.repository.EquipmentRepository;
-import com.equipment.repository.LogItemRepository;
-import com.equipment.repository.specification.EquipmentSpecifications;
 import com.equipment.repository.specification.BenutzerSpecifications;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -27,16 +29,38 @@ import java.util.List;
 
 @Service
 public class AdminService {
+
+    // Non-nullable properties the user scroll endpoint can seek on
+    private static final KeysetSort<Benutzer> USER_SCROLL_SORTS = new KeysetSort<>(Benutzer::getId)
+            .string("benutzername", Benutzer::getBenutzername)
+            .string("vorname", Benutzer::getVorname)
+            .string("nachname", Benutzer::getNachname)
+            .enumeration("role", Benutzer::getRole, Role.class)
+            .enumeration("accountStatus", Benutzer::getAccountStatus, AccountStatus.class)
+            .dateTime("createdAt", Benutzer::getCreatedAt)
+            .dateTime("updatedAt", Benutzer::getUpdatedAt);
+
     private final EquipmentRepository equipmentRepository;
     private final AusleiheRepository ausleiheRepository;
-    private final LogItemRepository logItemRepository;
     private final BenutzerRepository benutzerRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OverdueLoanTracker overdueLoanTracker;
+    private final RefreshTokenService refreshTokenService;
+    private final EquipmentSearchService equipmentSearchService;
+    private final SearchMode userSearchMode;
 
-    public AdminService(EquipmentRepository equipmentRepository, AusleiheRepository ausleiheRepository, LogItemRepository logItemRepository, BenutzerRepository benutzerRepository) {
+    public AdminService(EquipmentRepository equipmentRepository, AusleiheRepository ausleiheRepository, BenutzerRepository benutzerRepository,
+                        ApplicationEventPublisher eventPublisher, OverdueLoanTracker overdueLoanTracker,
+                        RefreshTokenService refreshTokenService, EquipmentSearchService equipmentSearchService,
+                        @Value("${users.search.mode:LIKE}") SearchMode userSearchMode) {
         this.equipmentRepository = equipmentRepository;
         this.ausleiheRepository = ausleiheRepository;
-        this.logItemRepository = logItemRepository;
         this.benutzerRepository = benutzerRepository;
+        this.eventPublisher = eventPublisher;
+        this.overdueLoanTracker = overdueLoanTracker;
+        this.refreshTokenService = refreshTokenService;
+        this.equipmentSearchService = equipmentSearchService;
+        this.userSearchMode = userSearchMode;
     }
 
     @Transactional
@@ -49,14 +73,17 @@ public class AdminService {
             );
         }
         
+        Equipment saved;
         try {
-            return equipmentRepository.save(equipment);
+            saved = equipmentRepository.save(equipment);
         } catch (Exception e) {
             throw EquipmentException.badRequest("Error saving equipment: " + e.getMessage());
         }
+        eventPublisher.publishEvent(EquipmentChangedEvent.saved(saved));
+        return saved;
     }
 
-    private void validateNewEquipment(Equipment equipment) {
+    static void validateNewEquipment(Equipment equipment) {
         if (equipment.getInventarnummer() == null || equipment.getInventarnummer().trim().isEmpty()) {
             throw EquipmentException.badRequest("Inventory number must not be empty");
         }
@@ -79,14 +106,6 @@ public class AdminService {
         }
     }
 
-    public List<LogItem> getLoanHistory() {
-        try {
-            return logItemRepository.findAll();
-        } catch (Exception e) {
-            throw EquipmentException.badRequest("Error loading loan history: " + e.getMessage());
-        }
-    }
-
     public List<Benutzer> getAllBenutzer() {
         try {
             return benutzerRepository.findAll();
@@ -97,9 +116,8 @@ public class AdminService {
 
     @Transactional
     public void deleteUser(Integer benutzerId) {
-        if (!benutzerRepository.existsById(benutzerId)) {
-            throw EquipmentException.notFound("User not found");
-        }
+        Benutzer benutzer = benutzerRepository.findById(benutzerId)
+                .orElseThrow(() -> EquipmentException.notFound("User not found"));
 
         // Check if the user has active loans
         boolean hasActiveLoans = ausleiheRepository.existsByBenutzerId(benutzerId);
@@ -112,6 +130,7 @@ public class AdminService {
         } catch (Exception e) {
             throw EquipmentException.badRequest("Error deleting user: " + e.getMessage());
         }
+        eventPublisher.publishEvent(new BenutzerChangedEvent(benutzer.getBenutzername()));
     }
 
     @Transactional
@@ -121,11 +140,16 @@ public class AdminService {
             throw EquipmentException.notFound("equipment with inventarnummer " + equipmentId + " not found.");
         }
         equipmentRepository.deleteById(equipmentId);
+        eventPublisher.publishEvent(EquipmentChangedEvent.deleted(equipmentId));
     }
 
     @Transactional
     public Equipment updateEquipment(Integer equipmentId, UpdateEquipmentRequest request) {
-        Equipment equipment = equipmentRepository.findById(equipmentId)
+        // Setting AVAILABLE takes the row lock a borrow claims the item with, so no loan can open before the check below
+        boolean makeAvailable = request.getStatus() == EquipmentStatus.AVAILABLE;
+        Equipment equipment = (makeAvailable
+                ? equipmentRepository.findAllByIdForUpdate(List.of(equipmentId)).stream().findFirst()
+                : equipmentRepository.findById(equipmentId))
                 .orElseThrow(() -> EquipmentException.notFound("Equipment not found"));
 
         if (request.getBezeichnung() != null && !request.getBezeichnung().trim().isEmpty()) {
@@ -138,6 +162,10 @@ public class AdminService {
             equipment.setCategory(request.getCategory());
         }
         if (request.getStatus() != null) {
+            // An item on loan stays BORROWED until it is returned; borrows and the available list rely on it
+            if (makeAvailable && ausleiheRepository.existsByEquipmentId(equipmentId)) {
+                throw EquipmentException.badRequest("Equipment cannot be set to AVAILABLE while it is on loan.");
+            }
             equipment.setStatus(request.getStatus());
         }
         if (request.getConditionStatus() != null) {
@@ -153,42 +181,57 @@ public class AdminService {
             equipment.setPurchaseDate(request.getPurchaseDate());
         }
 
-        return equipmentRepository.save(equipment);
+        Equipment saved = equipmentRepository.save(equipment);
+        eventPublisher.publishEvent(EquipmentChangedEvent.saved(saved));
+        return saved;
     }
 
     public Page<Equipment> searchEquipment(EquipmentSearchRequest request) {
-        Specification<Equipment> spec = Specification.where(null);
+        return equipmentSearchService.search(request);
+    }
 
-        if (request.getSearchTerm() != null) {
-            spec = spec.and(EquipmentSpecifications.hasSearchTerm(request.getSearchTerm()));
-        }
-        if (request.getCategory() != null) {
-            spec = spec.and(EquipmentSpecifications.hasCategory(request.getCategory()));
-        }
-        if (request.getStatus() != null) {
-            spec = spec.and(EquipmentSpecifications.hasStatus(request.getStatus()));
-        }
-        if (request.getConditionStatus() != null) {
-            spec = spec.and(EquipmentSpecifications.hasConditionStatus(request.getConditionStatus()));
-        }
-        if (request.getLocation() != null) {
-            spec = spec.and(EquipmentSpecifications.hasLocation(request.getLocation()));
-        }
+    public EquipmentFacets getEquipmentFacets(EquipmentSearchRequest request) {
+        return equipmentSearchService.facets(request);
+    }
 
+    public CursorPage<Equipment> scrollEquipment(EquipmentSearchRequest request) {
+        return equipmentSearchService.scroll(request);
+    }
+
+    public Page<Benutzer> searchUsers(UserSearchRequest request) {
         Sort sort = Sort.by(
             request.getSortDirection().equalsIgnoreCase("DESC") ? Sort.Direction.DESC : Sort.Direction.ASC,
             request.getSortBy()
         );
         Pageable pageable = PageRequest.of(request.getPage(), request.getSize(), sort);
 
-        return equipmentRepository.findAll(spec, pageable);
+        return benutzerRepository.findAll(userFilter(request), pageable);
     }
 
-    public Page<Benutzer> searchUsers(UserSearchRequest request) {
+    /**
+     * Seek-paginated user search for infinite scrolling: one query per page, no COUNT.
+     */
+    public CursorPage<Benutzer> scrollUsers(UserSearchRequest request) {
+        boolean descending = request.getSortDirection().equalsIgnoreCase("DESC");
+        String property = request.getSortBy();
+        Sort sort = USER_SCROLL_SORTS.sort(property, descending);
+        Specification<Benutzer> spec = userFilter(request)
+                .and(USER_SCROLL_SORTS.after(request.getCursor(), property, descending));
+
+        int size = request.getSize();
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        List<Benutzer> rows = benutzerRepository.findBy(spec, q -> q.sortBy(sort).limit(size + 1).all());
+        return USER_SCROLL_SORTS.toPage(rows, size, property, descending, null);
+    }
+
+    private Specification<Benutzer> userFilter(UserSearchRequest request) {
         Specification<Benutzer> spec = Specification.where(null);
 
         if (request.getSearchTerm() != null) {
-            spec = spec.and(BenutzerSpecifications.hasSearchTerm(request.getSearchTerm()));
+            SearchMode mode = request.getSearchMode() != null ? request.getSearchMode() : userSearchMode;
+            spec = spec.and(mode == SearchMode.FULLTEXT
+                    ? BenutzerSpecifications.matchesSearchTerm(request.getSearchTerm())
+                    : BenutzerSpecifications.hasSearchTerm(request.getSearchTerm()));
         }
         if (request.getRole() != null) {
             spec = spec.and(BenutzerSpecifications.hasRole(request.getRole()));
@@ -196,14 +239,7 @@ public class AdminService {
         if (request.getAccountStatus() != null) {
             spec = spec.and(BenutzerSpecifications.hasAccountStatus(request.getAccountStatus()));
         }
-
-        Sort sort = Sort.by(
-            request.getSortDirection().equalsIgnoreCase("DESC") ? Sort.Direction.DESC : Sort.Direction.ASC,
-            request.getSortBy()
-        );
-        Pageable pageable = PageRequest.of(request.getPage(), request.getSize(), sort);
-
-        return benutzerRepository.findAll(spec, pageable);
+        return spec;
     }
 
     @Transactional
@@ -211,18 +247,29 @@ public class AdminService {
         Benutzer benutzer = benutzerRepository.findById(userId)
                 .orElseThrow(() -> EquipmentException.notFound("User not found"));
 
-        if (request.getRole() != null) {
+        boolean changed = false;
+        if (request.getRole() != null && request.getRole() != benutzer.getRole()) {
             benutzer.setRole(request.getRole());
+            changed = true;
         }
-        if (request.getAccountStatus() != null) {
+        if (request.getAccountStatus() != null && request.getAccountStatus() != benutzer.getAccountStatus()) {
             benutzer.setAccountStatus(request.getAccountStatus());
+            changed = true;
+        }
+        if (changed) {
+            // Role and status are embedded in issued tokens; make the user sign in again
+            benutzer.setTokenVersion(benutzer.getTokenVersion() + 1);
+            refreshTokenService.revokeAll(benutzer.getId());
         }
 
-        return benutzerRepository.save(benutzer);
+        Benutzer saved = benutzerRepository.save(benutzer);
+        eventPublisher.publishEvent(new BenutzerChangedEvent(saved.getBenutzername()));
+        return saved;
     }
 
     public List<Ausleihe> getOverdueLoans() {
-        LocalDate today = LocalDate.now();
-        return ausleiheRepository.findByExpectedReturnDateBeforeAndExpectedReturnDateIsNotNull(today);
+        // Served from memory; the date scan is only needed until the tracker has loaded
+        return overdueLoanTracker.getOverdueLoans().orElseGet(() ->
+                ausleiheRepository.findByExpectedReturnDateBeforeAndExpectedReturnDateIsNotNull(LocalDate.now()));
     }
 } 
\ No newline at end of file
@@ -0,0 +1,100 @@
+package com.equipment.service;
+
+import com.equipment.dto.AuditHistoryRequest;
+import com.equipment.dto.CursorPage;
+import com.equipment.exception.EquipmentException;
+import com.equipment.model.LogItem;
+import com.equipment.repository.LogItemArchiveRepository;
+import com.equipment.repository.LogItemRepository;
+import com.equipment.repository.specification.LogItemSpecifications;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Seek-paginated audit history, newest first. Pages are ordered by (ausleihdatum, id) descending
+ * and continue strictly after the last row of the previous page, which idx_logitem_ausleihdatum
+ * (whose entries carry the primary key) serves without an OFFSET scan.
+ * <p>
+ * Rows moved to logitem_archive are merged in with the same predicate. The archive is only queried
+ * when the page could reach it, i.e. when the hot table runs short or the page ends at or before the
+ * newest archived ausleihdatum.
+ */
+@Service
+public class AuditHistoryService {
+
+    private static final Sort HISTORY_ORDER = Sort.by(Sort.Direction.DESC, "ausleihdatum", "id");
+
+    private static final Comparator<LogItem> NEWEST_FIRST =
+            Comparator.comparing(LogItem::getAusleihdatum).thenComparing(LogItem::getId).reversed();
+
+    private final LogItemRepository logItemRepository;
+    private final LogItemArchiveRepository logItemArchiveRepository;
+
+    public AuditHistoryService(LogItemRepository logItemRepository, LogItemArchiveRepository logItemArchiveRepository) {
+        this.logItemRepository = logItemRepository;
+        this.logItemArchiveRepository = logItemArchiveRepository;
+    }
+
+    public CursorPage<LogItem> findHistory(AuditHistoryRequest request) {
+        Specification<LogItem> spec = Specification.where(LogItemSpecifications.hasBenutzerId(request.getBenutzerId()))
+                .and(LogItemSpecifications.hasEquipmentId(request.getEquipmentId()))
+                .and(LogItemSpecifications.hasAction(request.getAction()))
+                .and(LogItemSpecifications.ausleihdatumFrom(request.getFrom()))
+                .and(LogItemSpecifications.ausleihdatumBefore(request.getTo()));
+
+        LocalDateTime seekAusleihdatum = null;
+        Integer seekId = null;
+        if (request.getCursor() != null && !request.getCursor().isBlank()) {
+            List<String> position = KeysetCursor.decode(request.getCursor(), 2);
+            try {
+                seekAusleihdatum = LocalDateTime.parse(position.get(0));
+                seekId = Integer.valueOf(position.get(1));
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw EquipmentException.badRequest("Invalid cursor");
+            }
+            spec = spec.and(LogItemSpecifications.before(seekAusleihdatum, seekId));
+        }
+
+        int size = request.getSize();
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        List<LogItem> rows = logItemRepository.findBy(spec, q -> q.sortBy(HISTORY_ORDER).limit(size + 1).all());
+
+        if (mayReachArchive(rows, size, request)) {
+            List<LogItem> archived = logItemArchiveRepository.findHistory(request, seekAusleihdatum, seekId, size + 1);
+            rows = Stream.concat(rows.stream(), archived.stream())
+                    .sorted(NEWEST_FIRST)
+                    .limit(size + 1)
+                    .toList();
+        }
+        return toPage(rows, size);
+    }
+
+    private boolean mayReachArchive(List<LogItem> hotRows, int size, AuditHistoryRequest request) {
+        Optional<LocalDateTime> newestArchived = logItemArchiveRepository.findNewestAusleihdatum();
+        if (newestArchived.isEmpty()) {
+            return false;
+        }
+        if (request.getFrom() != null && newestArchived.get().isBefore(request.getFrom())) {
+            return false;
+        }
+        // A full hot page that ends after every archived row cannot have archived rows interleaved
+        return hotRows.size() <= size || !hotRows.get(hotRows.size() - 1).getAusleihdatum().isAfter(newestArchived.get());
+    }
+
+    static CursorPage<LogItem> toPage(List<LogItem> rows, int size) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<LogItem> page = rows.subList(0, size);
+        LogItem last = page.get(size - 1);
+        return new CursorPage<>(List.copyOf(page), KeysetCursor.encode(last.getAusleihdatum(), last.getId()));
+    }
+}
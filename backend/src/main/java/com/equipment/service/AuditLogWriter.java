@@ -0,0 +1,190 @@
+package com.equipment.service;
+
+import com.equipment.model.LogItem;
+import com.equipment.repository.AuditOutboxRepository;
+import com.equipment.repository.LogItemRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Records audit events through the audit_outbox table and moves them into logitem in the background.
+ * <p>
+ * {@link #record} writes to the outbox in the caller's transaction, so an event exists exactly when
+ * the business change commits. After commit the outbox ids are offered to a bounded queue that a
+ * single worker drains in batches. Entries that do not make it through the queue (queue full, worker
+ * failure, crash) stay in the outbox and are picked up by the periodic sweep.
+ */
+@Service
+public class AuditLogWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLogWriter.class);
+
+    private final AuditOutboxRepository outboxRepository;
+    private final LogItemRepository logItemRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<Long> queue;
+    private final int batchSize;
+    private final long sweepMinAgeMs;
+
+    private final Timer flushTimer;
+    private final Counter flushedCounter;
+    private final Counter overflowCounter;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public AuditLogWriter(AuditOutboxRepository outboxRepository,
+                          LogItemRepository logItemRepository,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry,
+                          @Value("${audit.queue-capacity:10000}") int queueCapacity,
+                          @Value("${audit.batch-size:200}") int batchSize,
+                          @Value("${audit.outbox.sweep-min-age-ms:10000}") long sweepMinAgeMs) {
+        this.outboxRepository = outboxRepository;
+        this.logItemRepository = logItemRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.sweepMinAgeMs = sweepMinAgeMs;
+
+        Gauge.builder("audit.queue.depth", queue, BlockingQueue::size)
+                .description("Audit events waiting to be moved from the outbox into logitem")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("audit.flush.latency")
+                .description("Time to move one batch of audit events into logitem")
+                .register(meterRegistry);
+        this.flushedCounter = Counter.builder("audit.flushed")
+                .description("Audit events written to logitem")
+                .register(meterRegistry);
+        this.overflowCounter = Counter.builder("audit.queue.overflow")
+                .description("Audit events left to the outbox sweep because the queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Durably records an audit event as part of the current transaction.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(LogItem logItem) {
+        recordAll(List.of(logItem));
+    }
+
+    /**
+     * Durably records several audit events as one batch in the current transaction.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(List<LogItem> logItems) {
+        List<Long> ids = outboxRepository.insertAll(logItems);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                for (Long id : ids) {
+                    if (!queue.offer(id)) {
+                        overflowCounter.increment();
+                    }
+                }
+            }
+        });
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        worker = new Thread(this::drainLoop, "audit-log-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+        // Anything still queued is flushed now; whatever fails stays in the outbox for the next start
+        List<Long> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            flush(remaining.subList(from, Math.min(from + batchSize, remaining.size())));
+        }
+    }
+
+    /**
+     * Picks up outbox entries that were not delivered through the queue, including those left by a crash
+     * or by another replica.
+     */
+    @Scheduled(fixedDelayString = "${audit.outbox.sweep-interval-ms:30000}", initialDelayString = "${audit.outbox.sweep-initial-delay-ms:5000}")
+    public void sweepOutbox() {
+        try {
+            int moved;
+            do {
+                moved = flushLocked(() -> outboxRepository.lockOldest(LocalDateTime.now().minus(Duration.ofMillis(sweepMinAgeMs)), batchSize));
+            } while (moved == batchSize);
+        } catch (Exception e) {
+            log.error("Audit outbox sweep failed: {}", e.getMessage());
+        }
+    }
+
+    private void drainLoop() {
+        List<Long> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Long> ids) {
+        try {
+            flushLocked(() -> outboxRepository.lockByIds(ids));
+        } catch (Exception e) {
+            // Entries remain in the outbox and will be retried by the sweep
+            log.error("Failed to flush {} audit events: {}", ids.size(), e.getMessage());
+        }
+    }
+
+    private int flushLocked(Supplier<List<AuditOutboxRepository.Entry>> claim) {
+        Integer moved = flushTimer.record(() -> transactionTemplate.execute(status -> {
+            List<AuditOutboxRepository.Entry> entries = claim.get();
+            if (entries.isEmpty()) {
+                return 0;
+            }
+            logItemRepository.batchInsert(entries.stream().map(AuditOutboxRepository.Entry::logItem).toList());
+            outboxRepository.deleteByIds(entries.stream().map(AuditOutboxRepository.Entry::id).toList());
+            return entries.size();
+        }));
+        int count = moved != null ? moved : 0;
+        flushedCounter.increment(count);
+        return count;
+    }
+}
@@ -1,6 +1,9 @@
 package com.equipment.service;
 
+import com.equipment.dto.BatchItemResult;
 import com.equipment.dto.EquipmentSearchRequest;
+import com.equipment.event.EquipmentChangedEvent;
+import com.equipment.event.LoanChangedEvent;
 import com.equipment.exception.EquipmentException;
 import com.equipment.model.Ausleihe;
 import com.equipment.model.Benutzer;
@@ -10,20 +13,23 @@ import com.equipment.model.LogItem;
 import com.equipment.model.AuditAction;
 import com.equipment.repository.AusleiheRepository;
 import com.equipment.repository.EquipmentRepository;
-import com.equipment.repository.LogItemRepository;
-import com.equipment.repository.specification.EquipmentSpecifications;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,28 +37,31 @@ import java.util.stream.Collectors;
 public class AusleiheService {
     private final AusleiheRepository ausleiheRepository;
     private final EquipmentRepository equipmentRepository;
-    private final LogItemRepository logItemRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final AvailableEquipmentSnapshot availableEquipmentSnapshot;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EquipmentSearchService equipmentSearchService;
+    private final Counter borrowConflicts;
 
-    public AusleiheService(AusleiheRepository ausleiheRepository, EquipmentRepository equipmentRepository, LogItemRepository logItemRepository) {
+    public AusleiheService(AusleiheRepository ausleiheRepository, EquipmentRepository equipmentRepository, AuditLogWriter auditLogWriter,
+                           AvailableEquipmentSnapshot availableEquipmentSnapshot, ApplicationEventPublisher eventPublisher,
+                           MeterRegistry meterRegistry, EquipmentSearchService equipmentSearchService) {
         this.ausleiheRepository = ausleiheRepository;
         this.equipmentRepository = equipmentRepository;
-        this.logItemRepository = logItemRepository;
+        this.auditLogWriter = auditLogWriter;
+        this.availableEquipmentSnapshot = availableEquipmentSnapshot;
+        this.eventPublisher = eventPublisher;
+        this.equipmentSearchService = equipmentSearchService;
+        this.borrowConflicts = Counter.builder("equipment.borrow.conflicts")
+                .description("Borrow attempts rejected because another user claimed the equipment first")
+                .register(meterRegistry);
     }
 
     public List<Equipment> getAvailableEquipment() {
         try {
-            List<Integer> ausgeliehenIds = ausleiheRepository.findAll().stream()
-                    .map(a -> a.getEquipment().getId())
-                    .collect(Collectors.toList());
-
-            List<Equipment> allEquipment = ausgeliehenIds.isEmpty() 
-                ? equipmentRepository.findAll() 
-                : equipmentRepository.findByIdNotIn(ausgeliehenIds);
-
-            // Filter by status: only return AVAILABLE equipment
-            return allEquipment.stream()
-                    .filter(eq -> eq.getStatus() == EquipmentStatus.AVAILABLE)
-                    .collect(Collectors.toList());
+            // Served from memory once the snapshot has been built; the DB query is only a startup fallback
+            return availableEquipmentSnapshot.getAvailable()
+                    .orElseGet(() -> equipmentRepository.findWithStatusAndNoActiveLoan(EquipmentStatus.AVAILABLE));
         } catch (Exception e) {
             throw EquipmentException.badRequest("Error loading available devices: " + e.getMessage());
         }
@@ -60,18 +69,25 @@ public class AusleiheService {
 
     @Transactional
     public void borrowEquipment(Integer equipmentId, LocalDate expectedReturnDate) {
+        // Atomically claim the equipment. Concurrent borrowers queue on the row lock and the
+        // losers see zero updated rows, so they fail fast instead of hitting equipment_unique.
+        int claimed = equipmentRepository.updateStatusIfCurrent(
+                equipmentId, EquipmentStatus.AVAILABLE, EquipmentStatus.BORROWED, LocalDateTime.now());
+        if (claimed == 0) {
+            if (!equipmentRepository.existsById(equipmentId)) {
+                throw EquipmentException.notFound("Equipment not found");
+            }
+            borrowConflicts.increment();
+            throw EquipmentException.alreadyExists("Equipment is not available for borrowing");
+        }
+
         Equipment equipment = equipmentRepository.findById(equipmentId)
                 .orElseThrow(() -> EquipmentException.notFound("Equipment not found"));
 
-        // Check if equipment is available
-        if (equipment.getStatus() != EquipmentStatus.AVAILABLE) {
-            throw EquipmentException.badRequest("Equipment is not available for borrowing");
-        }
-
-        // Check if equipment is already borrowed
-        if (ausleiheRepository.findAll().stream()
-                .anyMatch(a -> a.getEquipment().getId().equals(equipmentId))) {
-            throw EquipmentException.badRequest("Equipment is already rented");
+        // Guards against loans left behind by status changes made outside the claim path
+        if (ausleiheRepository.existsByEquipmentId(equipmentId)) {
+            borrowConflicts.increment();
+            throw EquipmentException.alreadyExists("Equipment is already rented");
         }
 
         Benutzer currentUser = (Benutzer) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
@@ -83,95 +99,203 @@ public class AusleiheService {
         ausleihe.setExpectedReturnDate(expectedReturnDate);
 
         try {
-            // Update equipment status to BORROWED
-            equipment.setStatus(EquipmentStatus.BORROWED);
-            equipmentRepository.save(equipment);
-            
             ausleiheRepository.save(ausleihe);
 
             // Log the action
-            LogItem logItem = new LogItem();
-            logItem.setActionType(AuditAction.BORROW);
-            logItem.setBenutzername(currentUser.getBenutzername());
-            logItem.setBenutzerId(currentUser.getId());
-            logItem.setEquipmentinventarnummer(equipment.getInventarnummer());
-            logItem.setEquipmentbezeichnung(equipment.getBezeichnung());
-            logItem.setEquipmentId(equipment.getId());
-            logItem.setAusleihdatum(LocalDateTime.now());
-            logItemRepository.save(logItem);
+            auditLogWriter.record(borrowLogItem(currentUser, equipment, LocalDateTime.now()));
+        } catch (DataIntegrityViolationException e) {
+            borrowConflicts.increment();
+            throw EquipmentException.alreadyExists("Equipment is already rented");
         } catch (Exception e) {
             throw EquipmentException.badRequest("Error when renting equipment:" + e.getMessage());
         }
+        eventPublisher.publishEvent(EquipmentChangedEvent.saved(equipment));
+        eventPublisher.publishEvent(LoanChangedEvent.opened(ausleihe));
     }
 
     @Transactional
     public void returnEquipment(Integer equipmentId) {
         Benutzer currentUser = (Benutzer) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
         
-        Ausleihe ausleihe = ausleiheRepository.findAll().stream()
-                .filter(a -> a.getEquipment().getId().equals(equipmentId))
-                .filter(a -> a.getBenutzer().getId().equals(currentUser.getId()))
+        // Same lock order as borrowing and the batch paths: the equipment row before the loan row
+        Equipment equipment = equipmentRepository.findAllByIdForUpdate(List.of(equipmentId)).stream()
                 .findFirst()
                 .orElseThrow(() -> EquipmentException.notFound("No active rental found for this equipment"));
 
-        Equipment equipment = ausleihe.getEquipment();
+        Ausleihe ausleihe = ausleiheRepository.findByEquipmentIdAndBenutzerId(equipmentId, currentUser.getId())
+                .orElseThrow(() -> EquipmentException.notFound("No active rental found for this equipment"));
 
-        LogItem logItem = new LogItem();
-        logItem.setActionType(AuditAction.RETURN);
-        logItem.setBenutzername(ausleihe.getBenutzer().getBenutzername());
-        logItem.setBenutzerId(ausleihe.getBenutzer().getId());
-        logItem.setEquipmentinventarnummer(equipment.getInventarnummer());
-        logItem.setEquipmentbezeichnung(equipment.getBezeichnung());
-        logItem.setEquipmentId(equipment.getId());
-        logItem.setAusleihdatum(ausleihe.getAusleihe());
-        logItem.setRueckgabedatum(LocalDateTime.now());
+        // A concurrent return of the same loan removes zero rows and is reported as not found
+        if (ausleiheRepository.deleteByIdReturningCount(ausleihe.getId()) == 0) {
+            throw EquipmentException.notFound("No active rental found for this equipment");
+        }
+
+        LogItem logItem = returnLogItem(ausleihe, LocalDateTime.now());
 
         try {
             // Update equipment status back to AVAILABLE
             equipment.setStatus(EquipmentStatus.AVAILABLE);
             equipmentRepository.save(equipment);
             
-            logItemRepository.save(logItem);
-            ausleiheRepository.delete(ausleihe);
+            auditLogWriter.record(logItem);
         } catch (Exception e) {
             throw EquipmentException.badRequest("Errors returning the equipment: " + e.getMessage());
         }
+        eventPublisher.publishEvent(EquipmentChangedEvent.saved(equipment));
+        eventPublisher.publishEvent(LoanChangedEvent.closed(equipment.getId()));
     }
 
-    public List<Ausleihe> getBorrowedEquipmentForCurrentUser() {
+    /**
+     * Borrows several items for the current user in one transaction. Items that cannot be
+     * borrowed are reported individually and do not roll back the others.
+     */
+    @Transactional
+    public List<BatchItemResult> borrowEquipmentBatch(List<Integer> equipmentIds, LocalDate expectedReturnDate) {
+        Benutzer currentUser = (Benutzer) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        List<Integer> ids = normalizeIds(equipmentIds);
+
+        Map<Integer, Equipment> locked = equipmentRepository.findAllByIdForUpdate(ids).stream()
+                .collect(Collectors.toMap(Equipment::getId, e -> e));
+        Set<Integer> onLoan = new HashSet<>(ausleiheRepository.findEquipmentIdsOnLoan(ids));
+
+        List<BatchItemResult> results = new ArrayList<>(ids.size());
+        List<Equipment> claimed = new ArrayList<>();
+        for (Integer id : ids) {
+            Equipment equipment = locked.get(id);
+            if (equipment == null) {
+                results.add(BatchItemResult.notFound(id, "Equipment not found"));
+            } else if (equipment.getStatus() != EquipmentStatus.AVAILABLE || onLoan.contains(id)) {
+                borrowConflicts.increment();
+                results.add(BatchItemResult.conflict(id, "Equipment is not available for borrowing"));
+            } else {
+                claimed.add(equipment);
+                results.add(BatchItemResult.ok(id));
+            }
+        }
+        if (claimed.isEmpty()) {
+            return results;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Integer> claimedIds = claimed.stream().map(Equipment::getId).toList();
+        List<Ausleihe> loans = new ArrayList<>(claimed.size());
+        List<LogItem> logItems = new ArrayList<>(claimed.size());
+        for (Equipment equipment : claimed) {
+            Ausleihe ausleihe = new Ausleihe();
+            ausleihe.setBenutzer(currentUser);
+            ausleihe.setEquipment(equipment);
+            ausleihe.setAusleihe(now);
+            ausleihe.setExpectedReturnDate(expectedReturnDate);
+            loans.add(ausleihe);
+            logItems.add(borrowLogItem(currentUser, equipment, now));
+        }
+
         try {
-            Benutzer currentUser = (Benutzer) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-            return ausleiheRepository.findByBenutzerId(currentUser.getId());
+            equipmentRepository.updateStatusForIds(claimedIds, EquipmentStatus.BORROWED, now);
+            ausleiheRepository.batchInsert(loans);
+            auditLogWriter.recordAll(logItems);
         } catch (Exception e) {
-            throw EquipmentException.badRequest("Error loading the borrowed devices:" + e.getMessage());
+            throw EquipmentException.badRequest("Error when renting equipment:" + e.getMessage());
         }
+
+        claimed.forEach(equipment -> equipment.setStatus(EquipmentStatus.BORROWED));
+        eventPublisher.publishEvent(EquipmentChangedEvent.saved(claimed));
+        eventPublisher.publishEvent(LoanChangedEvent.opened(loans));
+        return results;
     }
 
-    public Page<Equipment> searchEquipment(EquipmentSearchRequest request) {
-        Specification<Equipment> spec = Specification.where(null);
+    /**
+     * Returns several items borrowed by the current user in one transaction.
+     */
+    @Transactional
+    public List<BatchItemResult> returnEquipmentBatch(List<Integer> equipmentIds) {
+        Benutzer currentUser = (Benutzer) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        List<Integer> ids = normalizeIds(equipmentIds);
 
-        if (request.getSearchTerm() != null) {
-            spec = spec.and(EquipmentSpecifications.hasSearchTerm(request.getSearchTerm()));
-        }
-        if (request.getCategory() != null) {
-            spec = spec.and(EquipmentSpecifications.hasCategory(request.getCategory()));
-        }
-        if (request.getStatus() != null) {
-            spec = spec.and(EquipmentSpecifications.hasStatus(request.getStatus()));
+        // Same lock order as borrowEquipmentBatch: equipment rows first, ascending by id
+        Map<Integer, Equipment> locked = equipmentRepository.findAllByIdForUpdate(ids).stream()
+                .collect(Collectors.toMap(Equipment::getId, e -> e));
+        Map<Integer, Ausleihe> loansByEquipment = ausleiheRepository.findByBenutzerIdAndEquipmentIdIn(currentUser.getId(), ids).stream()
+                .collect(Collectors.toMap(a -> a.getEquipment().getId(), a -> a));
+
+        List<BatchItemResult> results = new ArrayList<>(ids.size());
+        List<Ausleihe> returned = new ArrayList<>();
+        for (Integer id : ids) {
+            Ausleihe ausleihe = loansByEquipment.get(id);
+            if (ausleihe == null || !locked.containsKey(id)) {
+                results.add(BatchItemResult.notFound(id, "No active rental found for this equipment"));
+            } else {
+                returned.add(ausleihe);
+                results.add(BatchItemResult.ok(id));
+            }
         }
-        if (request.getConditionStatus() != null) {
-            spec = spec.and(EquipmentSpecifications.hasConditionStatus(request.getConditionStatus()));
+        if (returned.isEmpty()) {
+            return results;
         }
-        if (request.getLocation() != null) {
-            spec = spec.and(EquipmentSpecifications.hasLocation(request.getLocation()));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Equipment> returnedEquipment = returned.stream().map(Ausleihe::getEquipment).toList();
+        List<LogItem> logItems = returned.stream().map(a -> returnLogItem(a, now)).toList();
+
+        try {
+            ausleiheRepository.deleteAllByIdInBatch(returned.stream().map(Ausleihe::getId).toList());
+            equipmentRepository.updateStatusForIds(returnedEquipment.stream().map(Equipment::getId).toList(),
+                    EquipmentStatus.AVAILABLE, now);
+            auditLogWriter.recordAll(logItems);
+        } catch (Exception e) {
+            throw EquipmentException.badRequest("Errors returning the equipment: " + e.getMessage());
         }
 
-        Sort sort = Sort.by(
-            request.getSortDirection().equalsIgnoreCase("DESC") ? Sort.Direction.DESC : Sort.Direction.ASC,
-            request.getSortBy()
-        );
-        Pageable pageable = PageRequest.of(request.getPage(), request.getSize(), sort);
+        returnedEquipment.forEach(equipment -> equipment.setStatus(EquipmentStatus.AVAILABLE));
+        eventPublisher.publishEvent(EquipmentChangedEvent.saved(returnedEquipment));
+        eventPublisher.publishEvent(LoanChangedEvent.closed(returnedEquipment.stream().map(Equipment::getId).toList()));
+        return results;
+    }
+
+    private static List<Integer> normalizeIds(List<Integer> equipmentIds) {
+        return equipmentIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .toList();
+    }
 
-        return equipmentRepository.findAll(spec, pageable);
+    private static LogItem borrowLogItem(Benutzer benutzer, Equipment equipment, LocalDateTime ausleihdatum) {
+        LogItem logItem = new LogItem();
+        logItem.setActionType(AuditAction.BORROW);
+        logItem.setBenutzername(benutzer.getBenutzername());
+        logItem.setBenutzerId(benutzer.getId());
+        logItem.setEquipmentinventarnummer(equipment.getInventarnummer());
+        logItem.setEquipmentbezeichnung(equipment.getBezeichnung());
+        logItem.setEquipmentId(equipment.getId());
+        logItem.setAusleihdatum(ausleihdatum);
+        return logItem;
+    }
+
+    private static LogItem returnLogItem(Ausleihe ausleihe, LocalDateTime rueckgabedatum) {
+        Equipment equipment = ausleihe.getEquipment();
+        LogItem logItem = new LogItem();
+        logItem.setActionType(AuditAction.RETURN);
+        logItem.setBenutzername(ausleihe.getBenutzer().getBenutzername());
+        logItem.setBenutzerId(ausleihe.getBenutzer().getId());
+        logItem.setEquipmentinventarnummer(equipment.getInventarnummer());
+        logItem.setEquipmentbezeichnung(equipment.getBezeichnung());
+        logItem.setEquipmentId(equipment.getId());
+        logItem.setAusleihdatum(ausleihe.getAusleihe());
+        logItem.setRueckgabedatum(rueckgabedatum);
+        return logItem;
+    }
+
+    public List<Ausleihe> getBorrowedEquipmentForCurrentUser() {
+        try {
+            Benutzer currentUser = (Benutzer) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+            return ausleiheRepository.findByBenutzerId(currentUser.getId());
+        } catch (Exception e) {
+            throw EquipmentException.badRequest("Error loading the borrowed devices:" + e.getMessage());
+        }
+    }
+
+    public Page<Equipment> searchEquipment(EquipmentSearchRequest request) {
+        return equipmentSearchService.search(request);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,94 @@
+package com.equipment.service;
+
+import com.equipment.event.EquipmentChangedEvent;
+import com.equipment.model.Equipment;
+import com.equipment.model.EquipmentStatus;
+import com.equipment.repository.AusleiheRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Process-local view of all equipment that can currently be borrowed.
+ * Reads are lock-free; writes come from committed {@link EquipmentChangedEvent}s
+ * and from a periodic rebuild that also picks up changes made by other replicas,
+ * both through {@link EquipmentReadModels}.
+ */
+@Component
+public class AvailableEquipmentSnapshot extends EquipmentReadModel<ConcurrentSkipListMap<Integer, Equipment>> {
+
+    private final AusleiheRepository ausleiheRepository;
+
+    private volatile Instant lastRebuild;
+
+    public AvailableEquipmentSnapshot(AusleiheRepository ausleiheRepository, MeterRegistry meterRegistry) {
+        this.ausleiheRepository = ausleiheRepository;
+
+        Gauge.builder("equipment.snapshot.age", this, s -> s.getAge().toMillis() / 1000.0)
+                .description("Seconds since the available-equipment snapshot was rebuilt from the database")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("equipment.snapshot.size", this, s -> s.current() != null ? s.current().size() : 0)
+                .description("Number of equipment items in the available-equipment snapshot")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the available equipment ordered by id, or empty if the snapshot has not been built yet.
+     */
+    public Optional<List<Equipment>> getAvailable() {
+        // The map is concurrent, so readers do not take the lock
+        ConcurrentSkipListMap<Integer, Equipment> current = current();
+        if (current == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new ArrayList<>(current.values()));
+    }
+
+    public Duration getAge() {
+        Instant rebuilt = lastRebuild;
+        return rebuilt != null ? Duration.between(rebuilt, Instant.now()) : Duration.ZERO;
+    }
+
+    // Items left on loan by status changes made outside the borrow path are not available either
+    @Override
+    ConcurrentSkipListMap<Integer, Equipment> build(List<Equipment> all) {
+        Set<Integer> onLoan = new HashSet<>(ausleiheRepository.findAllEquipmentIdsOnLoan());
+        ConcurrentSkipListMap<Integer, Equipment> built = newState();
+        for (Equipment equipment : all) {
+            if (!onLoan.contains(equipment.getId())) {
+                apply(built, equipment.getId(), Optional.of(equipment));
+            }
+        }
+        return built;
+    }
+
+    @Override
+    protected ConcurrentSkipListMap<Integer, Equipment> newState() {
+        return new ConcurrentSkipListMap<>();
+    }
+
+    @Override
+    protected void apply(ConcurrentSkipListMap<Integer, Equipment> target, Integer id, Optional<Equipment> change) {
+        if (change.isPresent() && change.get().getStatus() == EquipmentStatus.AVAILABLE) {
+            target.put(id, change.get());
+        } else {
+            target.remove(id);
+        }
+    }
+
+    @Override
+    protected void beforePublish(ConcurrentSkipListMap<Integer, Equipment> previous,
+                                 ConcurrentSkipListMap<Integer, Equipment> rebuilt) {
+        lastRebuild = Instant.now();
+    }
+}
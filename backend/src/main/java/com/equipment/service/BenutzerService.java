@@ -1,18 +1,24 @@
 package com.equipment.service;
 
 import com.equipment.dto.*;
+import com.equipment.event.BenutzerChangedEvent;
 import com.equipment.exception.EquipmentException;
 import com.equipment.model.Benutzer;
+import com.equipment.model.RecoveryCode;
 import com.equipment.model.AccountStatus;
 import com.equipment.model.Role;
 import com.equipment.repository.BenutzerRepository;
+import com.equipment.repository.RecoveryCodeRepository;
 import com.equipment.repository.specification.BenutzerSpecifications;
 import com.equipment.security.JwtService;
+import com.equipment.security.TokenRevocationList;
+import com.equipment.security.VerifiedToken;
 import com.warrenstrange.googleauth.GoogleAuthenticator;
 import com.warrenstrange.googleauth.GoogleAuthenticatorKey;
 import com.warrenstrange.googleauth.GoogleAuthenticatorQRGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -21,14 +27,18 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
 import java.util.Optional;
-import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 //@Slf4j
@@ -36,18 +46,43 @@ import java.util.stream.Collectors;
 
 public class BenutzerService {
     private final BenutzerRepository benutzerRepository;
+    private final RecoveryCodeRepository recoveryCodeRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PasswordWorkerPool passwordWorkers;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationList tokenRevocationList;
+    private final LastLoginBuffer lastLoginBuffer;
+    private final TransactionTemplate transactionTemplate;
 
 
     private static final Logger log = LoggerFactory.getLogger(BenutzerService.class);
 
+    private static final byte[] NO_SALT = new byte[0];
+
+    private static final int RECOVERY_CODE_COUNT = 5;
+    private static final int RECOVERY_LOOKUP_LENGTH = 4;
+    private static final int RECOVERY_SECRET_LENGTH = 10;
+    // Codes issued before lookups existed: the secret alone, no lookup part
+    private static final int RECOVERY_LEGACY_LENGTH = 10;
+
     private final GoogleAuthenticator googleAuthenticator = new GoogleAuthenticator();
 
-    public BenutzerService(BenutzerRepository benutzerRepository, PasswordEncoder passwordEncoder, JwtService jwtService) {
+    public BenutzerService(BenutzerRepository benutzerRepository, RecoveryCodeRepository recoveryCodeRepository, PasswordEncoder passwordEncoder, JwtService jwtService,
+                           ApplicationEventPublisher eventPublisher, PasswordWorkerPool passwordWorkers,
+                           RefreshTokenService refreshTokenService, TokenRevocationList tokenRevocationList,
+                           LastLoginBuffer lastLoginBuffer, PlatformTransactionManager transactionManager) {
         this.benutzerRepository = benutzerRepository;
+        this.recoveryCodeRepository = recoveryCodeRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
+        this.eventPublisher = eventPublisher;
+        this.passwordWorkers = passwordWorkers;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenRevocationList = tokenRevocationList;
+        this.lastLoginBuffer = lastLoginBuffer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     public AuthResponse register(RegisterRequest request) {
@@ -55,25 +90,21 @@ public class BenutzerService {
             throw new RuntimeException("Username already taken");
         }
 
-        // Generate a salt
-        byte[] salt = generateSalt();
-
-        // Hash the password with the salt
-        byte[] hashedPassword = hashPassword(request.getPassword(), salt);
+        byte[] hashedPassword = passwordWorkers.call(() -> hashPassword(request.getPassword()));
 
         Benutzer benutzer = new Benutzer();
         benutzer.setBenutzername(request.getBenutzername());
         benutzer.setVorname(request.getVorname());
         benutzer.setNachname(request.getNachname());
         benutzer.setPasswordHash(hashedPassword); // Store the hashed password
-        benutzer.setPasswordSalt(salt); // Store the salt
+        benutzer.setPasswordSalt(NO_SALT); // The encoded hash carries its own salt
         benutzer.setRole(com.equipment.model.Role.USER); // Default role for new users
 
         benutzerRepository.save(benutzer);
+        // Clears a cached "no such user" left by an earlier account with this name
+        eventPublisher.publishEvent(new BenutzerChangedEvent(benutzer.getBenutzername()));
 
-        String token = jwtService.generateToken(benutzer);
-
-        return new AuthResponse(token);
+        return issueTokens(benutzer);
     }
 
     public AuthResponse login(AuthRequest request) {
@@ -88,7 +119,9 @@ public class BenutzerService {
         log.debug("User found: {}", benutzer.getBenutzername());
 
         // Compare the provided password with the stored password hash and salt
-        if (!comparePasswords(request.getPassword(), benutzer.getPasswordSalt(), benutzer.getPasswordHash())) {
+        boolean passwordMatches = passwordWorkers.call(() ->
+                comparePasswords(request.getPassword(), benutzer.getPasswordSalt(), benutzer.getPasswordHash()));
+        if (!passwordMatches) {
             log.debug("Incorrect password for user: {}", request.getBenutzername());
             throw new BadCredentialsException("Invalid Password");
         }
@@ -109,47 +142,100 @@ public class BenutzerService {
         }
 
         log.debug("Login successful for user: {}", request.getBenutzername());
-        // Update last login timestamp
-        benutzer.setLastLogin(LocalDateTime.now());
-        benutzerRepository.save(benutzer);
-        
+        if (needsRehash(benutzer.getPasswordHash())) {
+            // Moves legacy salted hashes, and hashes below the configured cost, to the current format
+            benutzer.setPasswordHash(passwordWorkers.call(() -> hashPassword(request.getPassword())));
+            benutzer.setPasswordSalt(NO_SALT);
+            benutzerRepository.save(benutzer);
+        }
+        // Last login is written behind in batches instead of saving the user on every login
+        lastLoginBuffer.record(benutzer.getId(), LocalDateTime.now());
+
+        return issueTokens(benutzer);
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and the next refresh token. The access
+     * token is built from the current account, so role and version changes apply here.
+     */
+    public AuthResponse refresh(RefreshTokenRequest request) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+        Benutzer benutzer = benutzerRepository.findById(rotation.benutzerId())
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+        return new AuthResponse(jwtService.generateToken(benutzer), rotation.refreshToken(), jwtService.getExpirationSeconds());
+    }
+
+    /**
+     * Revokes the presented access token until it expires and, if given, the refresh token's family.
+     */
+    public void logout(VerifiedToken accessToken, String refreshToken) {
+        if (accessToken != null && accessToken.tokenId() != null) {
+            tokenRevocationList.revoke(accessToken.tokenId(), accessToken.expiresAt());
+        }
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenService.revokeFamily(refreshToken);
+        }
+    }
+
+    private AuthResponse issueTokens(Benutzer benutzer) {
         String token = jwtService.generateToken(benutzer);
-        return new AuthResponse(token);
+        String refreshToken = refreshTokenService.issue(benutzer.getId());
+        return new AuthResponse(token, refreshToken, jwtService.getExpirationSeconds());
     }
 
     // 2FA setup: generate secret and provisioning URI
-    public TwoFactorSetupResponse initiateTwoFactorSetup(Benutzer benutzer) {
+    @Transactional
+    public TwoFactorSetupResponse initiateTwoFactorSetup(Benutzer principal) {
+        Benutzer benutzer = reload(principal);
         GoogleAuthenticatorKey key = googleAuthenticator.createCredentials();
         String secret = key.getKey();
         benutzer.setTwoFactorSecret(secret);
         benutzer.setTwoFactorEnabled(false);
-        benutzer.setRecoveryCodes(null);
         benutzerRepository.save(benutzer);
+        recoveryCodeRepository.deleteAllByBenutzerId(benutzer.getId());
+        eventPublisher.publishEvent(new BenutzerChangedEvent(benutzer.getBenutzername()));
 
         String otpAuthUrl = GoogleAuthenticatorQRGenerator.getOtpAuthURL("EquipmentSystem", benutzer.getBenutzername(), key);
         return new TwoFactorSetupResponse(secret, otpAuthUrl);
     }
 
-    // Verify code and enable 2FA, return recovery codes (plain) once
-    public List<String> verifyAndEnableTwoFactor(Benutzer benutzer, String code) {
+    // Verify code and enable 2FA, return recovery codes (plain) once.
+    // The codes are hashed before the transaction so no connection is held while BCrypt runs.
+    public List<String> verifyAndEnableTwoFactor(Benutzer principal, String code) {
+        Benutzer benutzer = reload(principal);
         if (benutzer.getTwoFactorSecret() == null) {
             throw new BadCredentialsException("2FA not initiated");
         }
         if (!validateTotp(benutzer, code)) {
             throw new BadCredentialsException("Invalid 2FA code");
         }
-        benutzer.setTwoFactorEnabled(true);
+
         List<String> recovery = generateRecoveryCodes();
-        benutzer.setRecoveryCodes(hashRecoveryCodes(recovery));
-        benutzerRepository.save(benutzer);
+        List<RecoveryCode> hashed = passwordWorkers.call(() -> hashRecoveryCodes(benutzer.getId(), recovery));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Benutzer current = reload(benutzer);
+            // A setup restarted meanwhile replaced the secret the code was checked against
+            if (!benutzer.getTwoFactorSecret().equals(current.getTwoFactorSecret())) {
+                throw new BadCredentialsException("2FA setup changed, please verify again");
+            }
+            current.setTwoFactorEnabled(true);
+            benutzerRepository.save(current);
+            recoveryCodeRepository.deleteAllByBenutzerId(current.getId());
+            recoveryCodeRepository.saveAll(hashed);
+            eventPublisher.publishEvent(new BenutzerChangedEvent(current.getBenutzername()));
+        });
         return recovery;
     }
 
-    public void disableTwoFactor(Benutzer benutzer) {
+    @Transactional
+    public void disableTwoFactor(Benutzer principal) {
+        Benutzer benutzer = reload(principal);
         benutzer.setTwoFactorEnabled(false);
         benutzer.setTwoFactorSecret(null);
-        benutzer.setRecoveryCodes(null);
         benutzerRepository.save(benutzer);
+        recoveryCodeRepository.deleteAllByBenutzerId(benutzer.getId());
+        eventPublisher.publishEvent(new BenutzerChangedEvent(benutzer.getBenutzername()));
     }
 
     private boolean validateTotp(Benutzer benutzer, String code) {
@@ -161,66 +247,88 @@ public class BenutzerService {
         }
     }
 
+    // Codes look like "K7PQ-ABCDEFGH23": a lookup part, unique per user, and the secret part
     private List<String> generateRecoveryCodes() {
         SecureRandom random = new SecureRandom();
-        return Arrays.asList("","","","","").stream()
-                .map(x -> randomCode(random))
+        Set<String> lookups = new HashSet<>();
+        while (lookups.size() < RECOVERY_CODE_COUNT) {
+            lookups.add(randomCode(random, RECOVERY_LOOKUP_LENGTH));
+        }
+        return lookups.stream()
+                .map(lookup -> lookup + "-" + randomCode(random, RECOVERY_SECRET_LENGTH))
                 .collect(Collectors.toList());
     }
 
-    private String randomCode(SecureRandom random) {
+    private String randomCode(SecureRandom random, int length) {
         String chars = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789";
         StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < 10; i++) {
+        for (int i = 0; i < length; i++) {
             sb.append(chars.charAt(random.nextInt(chars.length())));
         }
         return sb.toString();
     }
 
-    private String hashRecoveryCodes(List<String> codes) {
+    // Only the secret part is hashed; the lookup is stored in clear to find the row
+    private List<RecoveryCode> hashRecoveryCodes(Integer benutzerId, List<String> codes) {
         return codes.stream()
-                .map(passwordEncoder::encode)
-                .collect(Collectors.joining(","));
+                .map(code -> {
+                    String[] parts = code.split("-", 2);
+                    return new RecoveryCode(benutzerId, parts[0], passwordEncoder.encode(parts[1]));
+                })
+                .collect(Collectors.toList());
     }
 
+    /**
+     * Verifies a recovery code against the single stored hash with the same lookup and deletes it.
+     * The delete only succeeds once, so two logins racing with the same code cannot both pass.
+     * The dash is optional when typing a code. Codes issued before lookups existed are shorter and
+     * are checked against the user's legacy rows.
+     */
     private boolean consumeRecoveryCode(Benutzer benutzer, String recoveryCode) {
-        if (benutzer.getRecoveryCodes() == null || benutzer.getRecoveryCodes().isBlank()) {
-            return false;
-        }
-        List<String> hashes = Arrays.asList(benutzer.getRecoveryCodes().split(","));
-        for (String hash : hashes) {
-            if (passwordEncoder.matches(recoveryCode, hash)) {
-                // remove used code
-                List<String> remaining = hashes.stream()
-                        .filter(h -> !h.equals(hash))
-                        .collect(Collectors.toList());
-                benutzer.setRecoveryCodes(String.join(",", remaining));
-                benutzerRepository.save(benutzer);
-                return true;
+        String normalized = recoveryCode.trim().toUpperCase(Locale.ROOT).replace("-", "");
+
+        Optional<RecoveryCode> matched;
+        if (normalized.length() == RECOVERY_LOOKUP_LENGTH + RECOVERY_SECRET_LENGTH) {
+            String lookup = normalized.substring(0, RECOVERY_LOOKUP_LENGTH);
+            String secret = normalized.substring(RECOVERY_LOOKUP_LENGTH);
+            matched = recoveryCodeRepository.findByBenutzerIdAndLookup(benutzer.getId(), lookup)
+                    .filter(candidate -> passwordWorkers.call(() -> passwordEncoder.matches(secret, candidate.getCodeHash())));
+        } else if (normalized.length() == RECOVERY_LEGACY_LENGTH) {
+            List<RecoveryCode> legacy = recoveryCodeRepository.findByBenutzerIdAndLookupIsNull(benutzer.getId());
+            if (legacy.isEmpty()) {
+                return false;
             }
+            matched = passwordWorkers.call(() -> legacy.stream()
+                    .filter(candidate -> passwordEncoder.matches(normalized, candidate.getCodeHash()))
+                    .findFirst());
+        } else {
+            return false;
         }
-        return false;
-    }
 
-    private byte[] generateSalt() {
-        SecureRandom random = new SecureRandom();
-        byte[] salt = new byte[16];
-        random.nextBytes(salt);
-        return salt;
+        return matched.isPresent() && recoveryCodeRepository.deleteByIdReturningCount(matched.get().getId()) == 1;
     }
 
-    private byte[] hashPassword(String password, byte[] salt) {
-        // Combine the password and salt as a single string
-        String passwordWithSalt = password + new String(salt);
-        // Hash the combined value using BCryptPasswordEncoder
-        return passwordEncoder.encode(passwordWithSalt).getBytes();
+    // Hashes are stored as "{id}encoded" (e.g. {bcrypt}$2a$12$...), which embeds algorithm, cost and salt
+    private byte[] hashPassword(String password) {
+        return passwordEncoder.encode(password).getBytes(StandardCharsets.UTF_8);
     }
 
     private boolean comparePasswords(String password, byte[] salt, byte[] storedHash) {
-        // Combine the password and salt as a single string
-        String passwordWithSalt = password + new String(salt);
-        // Compare the combined value with the stored hash
-        return passwordEncoder.matches(passwordWithSalt, new String(storedHash));
+        String encoded = new String(storedHash, StandardCharsets.UTF_8);
+        if (isLegacyHash(encoded)) {
+            // Legacy format: BCrypt over the password concatenated with the separate salt column
+            return passwordEncoder.matches(password + new String(salt), encoded);
+        }
+        return passwordEncoder.matches(password, encoded);
+    }
+
+    private boolean needsRehash(byte[] storedHash) {
+        String encoded = new String(storedHash, StandardCharsets.UTF_8);
+        return isLegacyHash(encoded) || passwordEncoder.upgradeEncoding(encoded);
+    }
+
+    private static boolean isLegacyHash(String encoded) {
+        return !encoded.startsWith("{");
     }
 
     public AuthReset resetPassword(ResetPasswordRequest request) {
@@ -230,23 +338,23 @@ public class BenutzerService {
                     return new BadCredentialsException("Invalid credentials");
                 });
 
-        // Generate a new salt
-        byte[] newSalt = generateSalt();
+        byte[] newHashedPassword = passwordWorkers.call(() -> hashPassword(request.getNewPassword()));
 
-        // Hash the new password with the salt using the same method as registration
-        byte[] newHashedPassword = hashPassword(request.getNewPassword(), newSalt);
-
-        // Update both hash and salt
         benutzer.setPasswordHash(newHashedPassword);
-        benutzer.setPasswordSalt(newSalt);
+        benutzer.setPasswordSalt(NO_SALT);
+        // Revoke every token issued with the old password
+        benutzer.setTokenVersion(benutzer.getTokenVersion() + 1);
 
         benutzerRepository.save(benutzer);
+        refreshTokenService.revokeAll(benutzer.getId());
+        eventPublisher.publishEvent(new BenutzerChangedEvent(benutzer.getBenutzername()));
 
         return new AuthReset("Password reset successfully.");
     }
 
     @Transactional
-    public Benutzer updateUserProfile(Benutzer currentUser, UpdateUserRequest request) {
+    public Benutzer updateUserProfile(Benutzer principal, UpdateUserRequest request) {
+        Benutzer currentUser = reload(principal);
         if (request.getVorname() != null && !request.getVorname().trim().isEmpty()) {
             currentUser.setVorname(request.getVorname());
         }
@@ -261,7 +369,18 @@ public class BenutzerService {
             }
             currentUser.setEmail(request.getEmail());
         }
-        return benutzerRepository.save(currentUser);
+        Benutzer saved = benutzerRepository.save(currentUser);
+        eventPublisher.publishEvent(new BenutzerChangedEvent(saved.getBenutzername()));
+        return saved;
+    }
+
+    /**
+     * Loads the managed account behind an authenticated principal. The principal itself may be a
+     * cached copy or carry only the token claims, so it is never modified and saved directly.
+     */
+    private Benutzer reload(Benutzer principal) {
+        return benutzerRepository.findById(principal.getId())
+                .orElseThrow(() -> EquipmentException.notFound("User not found"));
     }
 
     public Benutzer getCurrentUserProfile(Benutzer currentUser) {
@@ -273,7 +392,9 @@ public class BenutzerService {
         Specification<Benutzer> spec = Specification.where(null);
 
         if (request.getSearchTerm() != null) {
-            spec = spec.and(BenutzerSpecifications.hasSearchTerm(request.getSearchTerm()));
+            spec = spec.and(request.getSearchMode() == SearchMode.FULLTEXT
+                    ? BenutzerSpecifications.matchesSearchTerm(request.getSearchTerm())
+                    : BenutzerSpecifications.hasSearchTerm(request.getSearchTerm()));
         }
         if (request.getRole() != null) {
             spec = spec.and(BenutzerSpecifications.hasRole(request.getRole()));
@@ -0,0 +1,243 @@
+package com.equipment.service;
+
+import com.equipment.dto.EquipmentFacets;
+import com.equipment.event.EquipmentChangedEvent;
+import com.equipment.model.ConditionStatus;
+import com.equipment.model.Equipment;
+import com.equipment.model.EquipmentCategory;
+import com.equipment.model.EquipmentStatus;
+import com.equipment.repository.EquipmentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Item counts per category, status, condition and location, kept in memory so the dashboards
+ * can show them next to the filters without GROUP BY queries.
+ * <p>
+ * Items are counted per combination of the four values (a bucket) rather than per value, so
+ * counts scoped by a filter are sums over the matching buckets. Every item's bucket is
+ * remembered, which turns a change into one decrement and one increment under the write lock.
+ * <p>
+ * Fed by committed {@link EquipmentChangedEvent}s like {@link EquipmentSearchIndex}, through
+ * {@link EquipmentReadModels}. The periodic rebuild reconciles with the database: it picks up
+ * other replicas' writes and counts how many buckets it had to correct.
+ */
+@Component
+public class EquipmentFacetCounter extends EquipmentReadModel<EquipmentFacetCounter.Counts> {
+
+    private static final Logger log = LoggerFactory.getLogger(EquipmentFacetCounter.class);
+
+    /**
+     * Facet filters; {@code null} leaves a facet unrestricted. The location filter matches by
+     * case-insensitive substring, like the equipment search.
+     */
+    public record Filter(EquipmentCategory category, EquipmentStatus status, ConditionStatus conditionStatus, String location) {}
+
+    private final EquipmentRepository equipmentRepository;
+    private final Counter corrections;
+
+    public EquipmentFacetCounter(EquipmentRepository equipmentRepository, MeterRegistry meterRegistry) {
+        this.equipmentRepository = equipmentRepository;
+
+        this.corrections = Counter.builder("equipment.facets.reconcile.corrections")
+                .description("Facet buckets whose in-memory count differed from the database on reconcile")
+                .register(meterRegistry);
+        Gauge.builder("equipment.facets.buckets", this, c -> c.read(t -> t.bucketSizes.size(), 0))
+                .description("Distinct category/status/condition/location combinations counted")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Counts under the filter, or empty if the counters have not been loaded yet.
+     */
+    public Optional<EquipmentFacets> facets(Filter filter) {
+        return Optional.ofNullable(read(c -> c.facets(filter), null));
+    }
+
+    /**
+     * True once the counters have been loaded; they stay loaded from then on.
+     */
+    public boolean isLoaded() {
+        return read(c -> true, false);
+    }
+
+    /**
+     * The item's facet values as last counted, or empty if it is not counted (yet).
+     */
+    public Optional<Bucket> bucketOf(Integer id) {
+        return read(c -> Optional.ofNullable(c.bucketById.get(id)), Optional.empty());
+    }
+
+    /**
+     * Counts straight from the database; only used while the counters are not loaded yet.
+     */
+    public EquipmentFacets count(Filter filter) {
+        return load().facets(filter);
+    }
+
+    @Override
+    protected Counts newState() {
+        return new Counts();
+    }
+
+    @Override
+    protected void apply(Counts target, Integer id, Optional<Equipment> change) {
+        if (change.isPresent()) {
+            target.put(id, Bucket.of(change.get()));
+        } else {
+            target.remove(id);
+        }
+    }
+
+    @Override
+    protected void beforePublish(Counts previous, Counts rebuilt) {
+        if (previous == null) {
+            return;
+        }
+        int corrected = previous.differences(rebuilt);
+        if (corrected > 0) {
+            corrections.increment(corrected);
+            log.info("Equipment facet reconcile corrected {} bucket counts", corrected);
+        }
+    }
+
+    private Counts load() {
+        Counts loaded = new Counts();
+        for (Object[] row : equipmentRepository.findFacetValues()) {
+            loaded.put((Integer) row[0], new Bucket((EquipmentCategory) row[1], (EquipmentStatus) row[2],
+                    (ConditionStatus) row[3], (String) row[4]));
+        }
+        return loaded;
+    }
+
+    /**
+     * The facet values of an item.
+     */
+    public record Bucket(EquipmentCategory category, EquipmentStatus status, ConditionStatus conditionStatus, String location) {
+
+        public static Bucket of(Equipment equipment) {
+            return new Bucket(equipment.getCategory(), equipment.getStatus(), equipment.getConditionStatus(), equipment.getLocation());
+        }
+
+        public boolean matches(Filter filter) {
+            return matchesCategory(filter) && matchesStatus(filter) && matchesCondition(filter) && matchesLocation(filter);
+        }
+
+        boolean matchesCategory(Filter filter) {
+            return filter.category() == null || filter.category() == category;
+        }
+
+        boolean matchesStatus(Filter filter) {
+            return filter.status() == null || filter.status() == status;
+        }
+
+        boolean matchesCondition(Filter filter) {
+            return filter.conditionStatus() == null || filter.conditionStatus() == conditionStatus;
+        }
+
+        boolean matchesLocation(Filter filter) {
+            if (filter.location() == null || filter.location().isBlank()) {
+                return true;
+            }
+            return location != null && location.toLowerCase(Locale.ROOT).contains(filter.location().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * One generation of the counters. Not thread-safe; guarded by the enclosing lock once published.
+     */
+    static final class Counts {
+        private final Map<Integer, Bucket> bucketById = new HashMap<>();
+        private final Map<Bucket, Integer> bucketSizes = new HashMap<>();
+
+        void put(Integer id, Bucket bucket) {
+            Bucket previous = bucketById.put(id, bucket);
+            if (bucket.equals(previous)) {
+                return;
+            }
+            if (previous != null) {
+                decrement(previous);
+            }
+            bucketSizes.merge(bucket, 1, Integer::sum);
+        }
+
+        void remove(Integer id) {
+            Bucket previous = bucketById.remove(id);
+            if (previous != null) {
+                decrement(previous);
+            }
+        }
+
+        private void decrement(Bucket bucket) {
+            bucketSizes.computeIfPresent(bucket, (b, size) -> size > 1 ? size - 1 : null);
+        }
+
+        // Each facet ignores its own filter so the other values of a selected facet keep their counts
+        EquipmentFacets facets(Filter filter) {
+            long total = 0;
+            Map<EquipmentCategory, Long> category = zeroed(EquipmentCategory.class);
+            Map<EquipmentStatus, Long> status = zeroed(EquipmentStatus.class);
+            Map<ConditionStatus, Long> condition = zeroed(ConditionStatus.class);
+            Map<String, Long> location = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+            for (Map.Entry<Bucket, Integer> entry : bucketSizes.entrySet()) {
+                Bucket bucket = entry.getKey();
+                long size = entry.getValue();
+                boolean byCategory = bucket.matchesCategory(filter);
+                boolean byStatus = bucket.matchesStatus(filter);
+                boolean byCondition = bucket.matchesCondition(filter);
+                boolean byLocation = bucket.matchesLocation(filter);
+
+                if (byCategory && byStatus && byCondition && byLocation) {
+                    total += size;
+                }
+                if (byStatus && byCondition && byLocation) {
+                    category.merge(bucket.category(), size, Long::sum);
+                }
+                if (byCategory && byCondition && byLocation) {
+                    status.merge(bucket.status(), size, Long::sum);
+                }
+                if (byCategory && byStatus && byLocation) {
+                    condition.merge(bucket.conditionStatus(), size, Long::sum);
+                }
+                if (byCategory && byStatus && byCondition && bucket.location() != null && !bucket.location().isBlank()) {
+                    location.merge(bucket.location().trim(), size, Long::sum);
+                }
+            }
+            return new EquipmentFacets(total, category, status, condition, location);
+        }
+
+        int differences(Counts other) {
+            Set<Bucket> buckets = new HashSet<>(bucketSizes.keySet());
+            buckets.addAll(other.bucketSizes.keySet());
+            int different = 0;
+            for (Bucket bucket : buckets) {
+                if (!bucketSizes.getOrDefault(bucket, 0).equals(other.bucketSizes.getOrDefault(bucket, 0))) {
+                    different++;
+                }
+            }
+            return different;
+        }
+
+        private static <E extends Enum<E>> Map<E, Long> zeroed(Class<E> type) {
+            Map<E, Long> map = new EnumMap<>(type);
+            for (E value : type.getEnumConstants()) {
+                map.put(value, 0L);
+            }
+            return map;
+        }
+    }
+}
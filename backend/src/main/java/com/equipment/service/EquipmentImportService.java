@@ -0,0 +1,253 @@
+package com.equipment.service;
+
+import com.equipment.dto.EquipmentImportResult;
+import com.equipment.event.EquipmentChangedEvent;
+import com.equipment.exception.EquipmentException;
+import com.equipment.model.ConditionStatus;
+import com.equipment.model.Equipment;
+import com.equipment.model.EquipmentCategory;
+import com.equipment.model.EquipmentStatus;
+import com.equipment.repository.EquipmentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streams CSV or NDJSON equipment files into the database in chunks. Each chunk is checked
+ * for duplicates with one query and written as one JDBC batch in its own transaction, so
+ * memory use and lock time stay bounded regardless of file size. Only the current chunk is
+ * held in memory: a number repeated from an earlier chunk is already committed by then and is
+ * reported by the existence check, or by the unique key if two imports race.
+ */
+@Service
+public class EquipmentImportService {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final Logger log = LoggerFactory.getLogger(EquipmentImportService.class);
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final EquipmentRepository equipmentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectReader equipmentReader;
+    private final int chunkSize;
+
+    public EquipmentImportService(EquipmentRepository equipmentRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  ApplicationEventPublisher eventPublisher,
+                                  ObjectMapper objectMapper,
+                                  @Value("${equipment.import.chunk-size:1000}") int chunkSize) {
+        this.equipmentRepository = equipmentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.equipmentReader = objectMapper.readerFor(Equipment.class);
+        this.chunkSize = chunkSize;
+    }
+
+    public EquipmentImportResult importEquipment(InputStream input, Format format) {
+        EquipmentImportResult result = new EquipmentImportResult();
+        // Inventory numbers in the current chunk; earlier chunks are caught by the existence check
+        Set<String> chunkNumbers = new HashSet<>();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            Map<String, Integer> header = null;
+            String line;
+            long lineNumber = 0;
+            int totalRows = 0;
+
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == Format.CSV && header == null) {
+                    header = parseHeader(line);
+                    continue;
+                }
+                totalRows++;
+
+                Equipment equipment;
+                try {
+                    equipment = format == Format.CSV ? parseCsvRow(line, header) : parseJsonRow(line);
+                    AdminService.validateNewEquipment(equipment);
+                } catch (EquipmentException | IllegalArgumentException | IOException e) {
+                    result.addError(lineNumber, null, e.getMessage(), MAX_REPORTED_ERRORS);
+                    continue;
+                }
+                if (!chunkNumbers.add(equipment.getInventarnummer())) {
+                    result.addError(lineNumber, equipment.getInventarnummer(),
+                            "Duplicate inventory number in import file", MAX_REPORTED_ERRORS);
+                    continue;
+                }
+
+                chunk.add(new Row(lineNumber, equipment));
+                if (chunk.size() >= chunkSize) {
+                    flush(chunk, result);
+                    chunk.clear();
+                    chunkNumbers.clear();
+                }
+            }
+            flush(chunk, result);
+            result.setTotalRows(totalRows);
+        } catch (IOException e) {
+            throw EquipmentException.badRequest("Error reading import file: " + e.getMessage());
+        } finally {
+            if (result.getImported() > 0) {
+                eventPublisher.publishEvent(EquipmentChangedEvent.bulk());
+            }
+        }
+
+        log.info("Equipment import finished: {} imported, {} failed", result.getImported(), result.getFailed());
+        return result;
+    }
+
+    private void flush(List<Row> chunk, EquipmentImportResult result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        Set<String> existing = new HashSet<>(equipmentRepository.findExistingInventarnummern(
+                chunk.stream().map(r -> r.equipment().getInventarnummer()).toList()));
+        List<Row> toInsert = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            if (existing.contains(row.equipment().getInventarnummer())) {
+                result.addError(row.line(), row.equipment().getInventarnummer(),
+                        "Equipment with inventory number " + row.equipment().getInventarnummer() + " already exists",
+                        MAX_REPORTED_ERRORS);
+            } else {
+                toInsert.add(row);
+            }
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    equipmentRepository.batchInsert(toInsert.stream().map(Row::equipment).toList()));
+            result.addImported(toInsert.size());
+        } catch (Exception e) {
+            // Most likely a concurrent insert of the same inventory number; retry row by row to isolate it
+            log.debug("Batch insert failed, retrying chunk row by row: {}", e.getMessage());
+            for (Row row : toInsert) {
+                try {
+                    transactionTemplate.executeWithoutResult(status ->
+                            equipmentRepository.batchInsert(List.of(row.equipment())));
+                    result.addImported(1);
+                } catch (Exception rowError) {
+                    result.addError(row.line(), row.equipment().getInventarnummer(),
+                            "Error saving equipment: " + rowError.getMessage(), MAX_REPORTED_ERRORS);
+                }
+            }
+        }
+    }
+
+    private Equipment parseJsonRow(String line) throws IOException {
+        Equipment equipment = equipmentReader.readValue(line);
+        equipment.setId(null);
+        return equipment;
+    }
+
+    private static Map<String, Integer> parseHeader(String line) {
+        List<String> columns = splitCsvLine(line);
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            header.put(columns.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!header.containsKey("inventarnummer") || !header.containsKey("bezeichnung")) {
+            throw EquipmentException.badRequest("CSV header must contain the columns inventarnummer and bezeichnung");
+        }
+        return header;
+    }
+
+    private static Equipment parseCsvRow(String line, Map<String, Integer> header) {
+        List<String> values = splitCsvLine(line);
+        Equipment equipment = new Equipment();
+        equipment.setInventarnummer(column(values, header, "inventarnummer"));
+        equipment.setBezeichnung(column(values, header, "bezeichnung"));
+        equipment.setDescription(column(values, header, "description"));
+        equipment.setLocation(column(values, header, "location"));
+        equipment.setSerialNumber(column(values, header, "serialnumber"));
+
+        String category = column(values, header, "category");
+        if (category != null) {
+            equipment.setCategory(EquipmentCategory.valueOf(category.toUpperCase(Locale.ROOT)));
+        }
+        String status = column(values, header, "status");
+        if (status != null) {
+            equipment.setStatus(EquipmentStatus.valueOf(status.toUpperCase(Locale.ROOT)));
+        }
+        String condition = column(values, header, "conditionstatus");
+        if (condition != null) {
+            equipment.setConditionStatus(ConditionStatus.valueOf(condition.toUpperCase(Locale.ROOT)));
+        }
+        String purchaseDate = column(values, header, "purchasedate");
+        if (purchaseDate != null) {
+            try {
+                equipment.setPurchaseDate(LocalDate.parse(purchaseDate));
+            } catch (Exception e) {
+                throw new IllegalArgumentException("Invalid purchaseDate: " + purchaseDate);
+            }
+        }
+        return equipment;
+    }
+
+    private static String column(List<String> values, Map<String, Integer> header, String name) {
+        Integer index = header.get(name);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // Splits a single CSV record; supports double-quoted fields with "" escapes (no embedded newlines)
+    static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private record Row(long line, Equipment equipment) {}
+}
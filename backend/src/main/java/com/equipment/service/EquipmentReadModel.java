@@ -0,0 +1,32 @@
+package com.equipment.service;
+
+import com.equipment.model.Equipment;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A {@link ReadModel} over the equipment table. Views do not load or listen themselves:
+ * {@link EquipmentReadModels} reads the table once per refresh for all of them and feeds them
+ * the items of each {@link com.equipment.event.EquipmentChangedEvent}.
+ */
+abstract class EquipmentReadModel<S> extends ReadModel<Integer, Equipment, S> {
+
+    /**
+     * False leaves the view unbuilt; refreshes skip it.
+     */
+    boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * A new generation holding every item of the table.
+     */
+    S build(List<Equipment> all) {
+        S built = newState();
+        for (Equipment equipment : all) {
+            apply(built, equipment.getId(), Optional.of(equipment));
+        }
+        return built;
+    }
+}
@@ -0,0 +1,121 @@
+package com.equipment.service;
+
+import com.equipment.event.EquipmentChangedEvent;
+import com.equipment.model.Equipment;
+import com.equipment.repository.EquipmentRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the in-memory equipment views ({@link AvailableEquipmentSnapshot},
+ * {@link EquipmentSearchIndex}, {@link EquipmentTypeaheadIndex}, {@link EquipmentFacetCounter})
+ * current. Committed {@link EquipmentChangedEvent}s are applied to every view; a refresh at
+ * startup and on an interval reads the equipment table once and rebuilds all of them from the same
+ * rows.
+ * <p>
+ * BULK changes (imports) are refreshed on a background thread, so the importing request does
+ * not wait for the table to be read. Requests arriving while a refresh is queued share it.
+ */
+@Component
+public class EquipmentReadModels {
+
+    private static final Logger log = LoggerFactory.getLogger(EquipmentReadModels.class);
+
+    private final EquipmentRepository equipmentRepository;
+    private final List<EquipmentReadModel<?>> views;
+
+    private final ExecutorService refresher;
+    private final AtomicBoolean refreshQueued = new AtomicBoolean();
+
+    public EquipmentReadModels(EquipmentRepository equipmentRepository, List<EquipmentReadModel<?>> views) {
+        this.equipmentRepository = equipmentRepository;
+        this.views = List.copyOf(views);
+        this.refresher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "equipment-read-model-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${equipment.read-models.refresh-interval-ms:300000}",
+            initialDelayString = "${equipment.read-models.refresh-interval-ms:300000}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    /**
+     * Rebuilds every enabled view from one read of the equipment table. A view that fails to
+     * build keeps its current state; the others are still published.
+     */
+    public synchronized void refresh() {
+        List<EquipmentReadModel<?>> enabled = views.stream().filter(EquipmentReadModel::isEnabled).toList();
+        if (enabled.isEmpty()) {
+            return;
+        }
+        enabled.forEach(EquipmentReadModel::beginRebuild);
+        try {
+            long started = System.nanoTime();
+            List<Equipment> all = equipmentRepository.findAll();
+            for (EquipmentReadModel<?> view : enabled) {
+                rebuild(view, all);
+            }
+            log.debug("Equipment read models refreshed from {} items in {} ms",
+                    all.size(), (System.nanoTime() - started) / 1_000_000);
+        } catch (Exception e) {
+            log.error("Failed to refresh equipment read models: {}", e.getMessage());
+        } finally {
+            enabled.forEach(EquipmentReadModel::endRebuild);
+        }
+    }
+
+    /**
+     * Queues a {@link #refresh()} on the background thread, unless one is queued and not started yet.
+     */
+    public void refreshAsync() {
+        if (refreshQueued.compareAndSet(false, true)) {
+            refresher.execute(() -> {
+                refreshQueued.set(false);
+                refresh();
+            });
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEquipmentChanged(EquipmentChangedEvent event) {
+        switch (event.getType()) {
+            case SAVED -> event.getEquipment().forEach(e -> views.forEach(v -> v.record(e.getId(), Optional.of(e))));
+            case DELETED -> event.getEquipmentIds().forEach(id -> views.forEach(v -> v.record(id, Optional.empty())));
+            case BULK -> refreshAsync();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    private static <S> void rebuild(EquipmentReadModel<S> view, List<Equipment> all) {
+        try {
+            view.publish(view.build(all));
+        } catch (Exception e) {
+            log.error("Failed to rebuild {}: {}", view.getClass().getSimpleName(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.equipment.service;
+
+import com.equipment.dto.EquipmentSearchRequest;
+import com.equipment.event.EquipmentChangedEvent;
+import com.equipment.model.Equipment;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Size- and TTL-bounded cache of equipment search pages for requests without a search term,
+ * which are answered by a Specification query plus a count query. Term searches are served by
+ * the {@link EquipmentSearchIndex} and are not cached.
+ * <p>
+ * Requests are keyed by a normalized form (blank filters dropped, location lower-cased, sort
+ * direction reduced to ASC or DESC), so equivalent requests share an entry. A change to an
+ * item evicts only the entries whose filter matched the item before or after the change; its
+ * previous facet values come from the {@link EquipmentFacetCounter}, read before the
+ * transaction commits while it still holds them. Borrow and return change the status and publish the same
+ * event, so they evict only the affected status pages.
+ * <p>
+ * Entries are evicted again once the transaction completes, since a search running between
+ * the two would still have read the old rows. Other replicas' writes are not seen; the TTL
+ * bounds how long their results can be stale.
+ */
+@Component
+public class EquipmentSearchCache {
+
+    private static final String CACHE_NAME = "equipmentSearch";
+
+    private record Key(EquipmentFacetCounter.Filter filter, int page, int size, String sortBy, String sortDirection) {}
+
+    private record Entry(Page<Equipment> page, long expiresAt) {}
+
+    private final EquipmentFacetCounter facetCounter;
+    private final int maxSize;
+    private final long ttlNanos;
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    // Bumped on every eviction so a load racing with a change is not cached
+    private final AtomicLong generation = new AtomicLong();
+    // Facet values affected by changes whose transaction has not completed yet
+    private final Map<EquipmentChangedEvent, Optional<List<EquipmentFacetCounter.Bucket>>> pending = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public EquipmentSearchCache(EquipmentFacetCounter facetCounter,
+                                MeterRegistry meterRegistry,
+                                @Value("${equipment.search-cache.max-size:1000}") int maxSize,
+                                @Value("${equipment.search-cache.ttl-ms:30000}") long ttlMs) {
+        this.facetCounter = facetCounter;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlMs * 1_000_000L;
+
+        // Standard cache meter names, so the actuator shows them next to any other cache
+        this.hits = Counter.builder("cache.gets")
+                .tag("cache", CACHE_NAME).tag("result", "hit")
+                .description("Equipment searches answered from the result cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("cache.gets")
+                .tag("cache", CACHE_NAME).tag("result", "miss")
+                .description("Equipment searches that queried the database")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("cache.evictions")
+                .tag("cache", CACHE_NAME)
+                .description("Cached equipment search pages evicted by changes, expiry or size")
+                .register(meterRegistry);
+        Gauge.builder("cache.size", entries, Map::size)
+                .tag("cache", CACHE_NAME)
+                .description("Equipment search pages held in the result cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * True if the request can be answered from the cache: no search term.
+     */
+    public static boolean isCacheable(EquipmentSearchRequest request) {
+        return request.getSearchTerm() == null || request.getSearchTerm().isBlank();
+    }
+
+    public Page<Equipment> getOrLoad(EquipmentSearchRequest request, Supplier<Page<Equipment>> loader) {
+        Key key = keyOf(request);
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt() - System.nanoTime() > 0) {
+            hits.increment();
+            return entry.page();
+        }
+        misses.increment();
+
+        long generationBeforeLoad = generation.get();
+        Page<Equipment> loaded = loader.get();
+        if (generation.get() == generationBeforeLoad) {
+            put(key, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Evicts the entries the change affects while the previous facet values are still known.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onEquipmentChanging(EquipmentChangedEvent event) {
+        Optional<List<EquipmentFacetCounter.Bucket>> affected = affectedBy(event);
+        evict(affected);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pending.put(event, affected);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION)
+    public void onEquipmentChanged(EquipmentChangedEvent event) {
+        Optional<List<EquipmentFacetCounter.Bucket>> affected = pending.remove(event);
+        if (affected != null) {
+            evict(affected);
+        }
+    }
+
+    // The item's facet values before and after the change; empty when every entry has to go
+    private Optional<List<EquipmentFacetCounter.Bucket>> affectedBy(EquipmentChangedEvent event) {
+        if (event.getType() == EquipmentChangedEvent.Type.BULK || !facetCounter.isLoaded()) {
+            return Optional.empty();
+        }
+        List<EquipmentFacetCounter.Bucket> affected = new ArrayList<>();
+        for (Integer id : event.getEquipmentIds()) {
+            facetCounter.bucketOf(id).ifPresent(affected::add);
+        }
+        for (Equipment equipment : event.getEquipment()) {
+            affected.add(EquipmentFacetCounter.Bucket.of(equipment));
+        }
+        return Optional.of(affected);
+    }
+
+    private void evict(Optional<List<EquipmentFacetCounter.Bucket>> affected) {
+        generation.incrementAndGet();
+        if (affected.isEmpty()) {
+            evictions.increment(entries.size());
+            entries.clear();
+            return;
+        }
+        entries.keySet().removeIf(key -> {
+            boolean hit = affected.get().stream().anyMatch(bucket -> bucket.matches(key.filter()));
+            if (hit) {
+                evictions.increment();
+            }
+            return hit;
+        });
+    }
+
+    private void put(Key key, Page<Equipment> page) {
+        if (entries.size() >= maxSize && !entries.containsKey(key)) {
+            makeRoom();
+        }
+        entries.put(key, new Entry(page, System.nanoTime() + ttlNanos));
+    }
+
+    /**
+     * Drops expired entries, then the entry closest to expiry if the cache is still full.
+     * Only runs when the cache is at capacity.
+     */
+    private void makeRoom() {
+        long now = System.nanoTime();
+        int before = entries.size();
+        entries.values().removeIf(e -> e.expiresAt() - now <= 0);
+        if (entries.size() >= maxSize) {
+            entries.entrySet().stream()
+                    .min((a, b) -> Long.compare(a.getValue().expiresAt() - now, b.getValue().expiresAt() - now))
+                    .ifPresent(oldest -> entries.remove(oldest.getKey(), oldest.getValue()));
+        }
+        evictions.increment(Math.max(0, before - entries.size()));
+    }
+
+    private static Key keyOf(EquipmentSearchRequest request) {
+        String location = request.getLocation() == null || request.getLocation().isBlank()
+                ? null : request.getLocation().toLowerCase(Locale.ROOT);
+        EquipmentFacetCounter.Filter filter = new EquipmentFacetCounter.Filter(
+                request.getCategory(), request.getStatus(), request.getConditionStatus(), location);
+        return new Key(filter, request.getPage(), request.getSize(), request.getSortBy(),
+                request.getSortDirection().equalsIgnoreCase("DESC") ? "DESC" : "ASC");
+    }
+}
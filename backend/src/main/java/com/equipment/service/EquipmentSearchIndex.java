@@ -0,0 +1,313 @@
+package com.equipment.service;
+
+import com.equipment.event.EquipmentChangedEvent;
+import com.equipment.model.Equipment;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Process-local inverted index over the searchable equipment text: inventarnummer, bezeichnung
+ * and description. Text is normalized (lower case, accents removed) and split into terms; each
+ * term has one posting list of equipment ids per field.
+ * <p>
+ * Partial matches go through a trigram index over the distinct terms rather than over the
+ * documents, which keeps it small: a query token of three or more characters looks up the
+ * terms sharing its rarest trigram and keeps those that contain it. Shorter tokens match term
+ * prefixes. Every query token has to match (AND); hits are ranked by field weight, match kind
+ * (exact, prefix, substring) and how rare the matched term is.
+ * <p>
+ * Like the other equipment views, the index is kept current by {@link EquipmentReadModels} from
+ * committed {@link EquipmentChangedEvent}s and rebuilt periodically to pick up other replicas' writes.
+ * The indexed entities also serve filtering and sorting, so a search needs no database access.
+ */
+@Component
+public class EquipmentSearchIndex extends EquipmentReadModel<EquipmentSearchIndex.Segment> {
+
+    private static final int FIELD_INVENTARNUMMER = 0;
+    private static final int FIELD_BEZEICHNUNG = 1;
+    private static final int FIELD_DESCRIPTION = 2;
+    private static final int FIELD_COUNT = 3;
+    private static final double[] FIELD_WEIGHTS = {3.0, 2.0, 1.0};
+
+    private static final double EXACT_WEIGHT = 1.0;
+    private static final double PREFIX_WEIGHT = 0.7;
+    private static final double SUBSTRING_WEIGHT = 0.4;
+
+    private static final int GRAM = 3;
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final boolean enabled;
+
+    public EquipmentSearchIndex(MeterRegistry meterRegistry,
+                                @Value("${equipment.search-index.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+
+        Gauge.builder("equipment.search.index.documents", this, i -> i.read(s -> s.docs.size(), 0))
+                .description("Equipment items in the in-memory search index")
+                .register(meterRegistry);
+        Gauge.builder("equipment.search.index.terms", this, i -> i.read(s -> s.lexicon.size(), 0))
+                .description("Distinct terms in the in-memory search index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * A matching item and its relevance score.
+     */
+    public record Hit(Equipment equipment, double score) {}
+
+    /**
+     * Returns every item matching all tokens of the query and the filter, unordered, or empty
+     * if the index is disabled or not built yet. A query without tokens matches nothing.
+     */
+    public Optional<List<Hit>> search(String query, Predicate<Equipment> filter) {
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        return Optional.ofNullable(read(s -> s.search(tokens, filter), null));
+    }
+
+    @Override
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    protected Segment newState() {
+        return new Segment();
+    }
+
+    @Override
+    protected void apply(Segment target, Integer id, Optional<Equipment> change) {
+        if (change.isPresent()) {
+            target.put(change.get());
+        } else {
+            target.remove(id);
+        }
+    }
+
+    /**
+     * Splits text into normalized terms: lower case, accents removed, separated at anything
+     * that is not a letter or digit.
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(normalized)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static Set<String> trigrams(String term) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= term.length(); i++) {
+            grams.add(term.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    /**
+     * One generation of the index. Not thread-safe; guarded by the enclosing lock once published.
+     */
+    static final class Segment {
+        private final Map<Integer, Doc> docs = new HashMap<>();
+        private final TreeMap<String, Term> lexicon = new TreeMap<>();
+        private final Map<String, Set<String>> termsByTrigram = new HashMap<>();
+
+        void put(Equipment equipment) {
+            remove(equipment.getId());
+            String[][] fieldTerms = new String[FIELD_COUNT][];
+            fieldTerms[FIELD_INVENTARNUMMER] = distinctTerms(equipment.getInventarnummer());
+            fieldTerms[FIELD_BEZEICHNUNG] = distinctTerms(equipment.getBezeichnung());
+            fieldTerms[FIELD_DESCRIPTION] = distinctTerms(equipment.getDescription());
+            for (int field = 0; field < FIELD_COUNT; field++) {
+                for (String term : fieldTerms[field]) {
+                    lexicon.computeIfAbsent(term, this::newTerm).postings[field].add(equipment.getId());
+                }
+            }
+            docs.put(equipment.getId(), new Doc(equipment, fieldTerms));
+        }
+
+        void remove(Integer id) {
+            Doc doc = docs.remove(id);
+            if (doc == null) {
+                return;
+            }
+            for (int field = 0; field < FIELD_COUNT; field++) {
+                for (String term : doc.terms()[field]) {
+                    Term entry = lexicon.get(term);
+                    entry.postings[field].remove(id);
+                    if (entry.isEmpty()) {
+                        lexicon.remove(term);
+                        for (String gram : trigrams(term)) {
+                            Set<String> terms = termsByTrigram.get(gram);
+                            terms.remove(term);
+                            if (terms.isEmpty()) {
+                                termsByTrigram.remove(gram);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        List<Hit> search(List<String> tokens, Predicate<Equipment> filter) {
+            if (tokens.isEmpty()) {
+                return List.of();
+            }
+            Map<Integer, Double> scores = null;
+            for (String token : tokens) {
+                Map<Integer, Double> tokenScores = scoreToken(token);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    // AND: keep items matched by every token so far
+                    Map<Integer, Double> smaller = scores.size() <= tokenScores.size() ? scores : tokenScores;
+                    Map<Integer, Double> larger = smaller == scores ? tokenScores : scores;
+                    Map<Integer, Double> both = new HashMap<>();
+                    smaller.forEach((id, score) -> {
+                        Double other = larger.get(id);
+                        if (other != null) {
+                            both.put(id, score + other);
+                        }
+                    });
+                    scores = both;
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            List<Hit> hits = new ArrayList<>(scores.size());
+            scores.forEach((id, score) -> {
+                Equipment equipment = docs.get(id).equipment();
+                if (filter.test(equipment)) {
+                    hits.add(new Hit(equipment, score));
+                }
+            });
+            return hits;
+        }
+
+        // Best score per item for one query token, over all matching terms and fields
+        private Map<Integer, Double> scoreToken(String token) {
+            Map<Integer, Double> scores = new HashMap<>();
+            for (String term : matchingTerms(token)) {
+                Term entry = lexicon.get(term);
+                double kind = term.equals(token) ? EXACT_WEIGHT : term.startsWith(token) ? PREFIX_WEIGHT : SUBSTRING_WEIGHT;
+                double idf = Math.log(1.0 + (double) docs.size() / entry.documentFrequency());
+                for (int field = 0; field < FIELD_COUNT; field++) {
+                    double score = FIELD_WEIGHTS[field] * kind * idf;
+                    Postings postings = entry.postings[field];
+                    for (int i = 0; i < postings.size; i++) {
+                        scores.merge(postings.ids[i], score, Math::max);
+                    }
+                }
+            }
+            return scores;
+        }
+
+        private Collection<String> matchingTerms(String token) {
+            if (token.length() < GRAM) {
+                SortedMap<String, Term> prefixed = lexicon.subMap(token, token + Character.MAX_VALUE);
+                return prefixed.keySet();
+            }
+            // Every term containing the token contains all its trigrams; the rarest one has the fewest candidates
+            Set<String> candidates = null;
+            for (String gram : trigrams(token)) {
+                Set<String> terms = termsByTrigram.get(gram);
+                if (terms == null) {
+                    return List.of();
+                }
+                if (candidates == null || terms.size() < candidates.size()) {
+                    candidates = terms;
+                }
+            }
+            List<String> matches = new ArrayList<>();
+            for (String term : candidates) {
+                if (term.contains(token)) {
+                    matches.add(term);
+                }
+            }
+            return matches;
+        }
+
+        private Term newTerm(String term) {
+            for (String gram : trigrams(term)) {
+                termsByTrigram.computeIfAbsent(gram, g -> new HashSet<>()).add(term);
+            }
+            return new Term();
+        }
+
+        private static String[] distinctTerms(String text) {
+            return new LinkedHashSet<>(tokenize(text)).toArray(new String[0]);
+        }
+    }
+
+    private record Doc(Equipment equipment, String[][] terms) {}
+
+    private static final class Term {
+        private final Postings[] postings = {new Postings(), new Postings(), new Postings()};
+
+        boolean isEmpty() {
+            return postings[0].size == 0 && postings[1].size == 0 && postings[2].size == 0;
+        }
+
+        int documentFrequency() {
+            return Math.max(1, postings[0].size + postings[1].size + postings[2].size);
+        }
+    }
+
+    /**
+     * Sorted, growable list of equipment ids; four bytes per entry instead of a boxed set.
+     */
+    private static final class Postings {
+        private int[] ids = new int[2];
+        private int size;
+
+        void add(int id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0) {
+                return;
+            }
+            int insertAt = -at - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        void remove(int id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at < 0) {
+                return;
+            }
+            System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+            size--;
+        }
+    }
+}
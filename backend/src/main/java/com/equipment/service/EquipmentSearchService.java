@@ -0,0 +1,274 @@
+package com.equipment.service;
+
+import com.equipment.dto.CursorPage;
+import com.equipment.dto.EquipmentFacets;
+import com.equipment.dto.EquipmentSearchRequest;
+import com.equipment.dto.EquipmentSuggestion;
+import com.equipment.dto.SearchMode;
+import com.equipment.model.ConditionStatus;
+import com.equipment.model.Equipment;
+import com.equipment.model.EquipmentCategory;
+import com.equipment.model.EquipmentStatus;
+import com.equipment.repository.EquipmentRepository;
+import com.equipment.repository.specification.EquipmentSpecifications;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Equipment search shared by the admin and user endpoints. In {@link SearchMode#INDEX} requests
+ * with a search term are answered from the {@link EquipmentSearchIndex}, including filtering,
+ * sorting and paging. Everything else goes to the database, matching the term with LIKE or,
+ * in {@link SearchMode#FULLTEXT}, against the FULLTEXT index.
+ */
+@Service
+public class EquipmentSearchService {
+
+    /** Sort key ordering index hits by score, best first; the database path sorts by id instead */
+    public static final String SORT_BY_RELEVANCE = "relevance";
+
+    private static final int MAX_SUGGESTIONS = 50;
+
+    // Non-nullable properties the scroll endpoints can seek on
+    private static final KeysetSort<Equipment> SCROLL_SORTS = new KeysetSort<>(Equipment::getId)
+            .string("inventarnummer", Equipment::getInventarnummer)
+            .string("bezeichnung", Equipment::getBezeichnung)
+            .enumeration("category", Equipment::getCategory, EquipmentCategory.class)
+            .enumeration("status", Equipment::getStatus, EquipmentStatus.class)
+            .enumeration("conditionStatus", Equipment::getConditionStatus, ConditionStatus.class)
+            .dateTime("createdAt", Equipment::getCreatedAt)
+            .dateTime("updatedAt", Equipment::getUpdatedAt);
+
+    // Sortable properties, ordered like MySQL would: case-insensitive strings, nulls first ascending
+    private static final Map<String, Comparator<Equipment>> SORTS = Map.ofEntries(
+            Map.entry("id", Comparator.comparing(Equipment::getId)),
+            Map.entry("inventarnummer", nullsFirst(Equipment::getInventarnummer, String.CASE_INSENSITIVE_ORDER)),
+            Map.entry("bezeichnung", nullsFirst(Equipment::getBezeichnung, String.CASE_INSENSITIVE_ORDER)),
+            Map.entry("description", nullsFirst(Equipment::getDescription, String.CASE_INSENSITIVE_ORDER)),
+            Map.entry("category", nullsFirst(e -> e.getCategory() != null ? e.getCategory().name() : null, Comparator.<String>naturalOrder())),
+            Map.entry("status", nullsFirst(e -> e.getStatus() != null ? e.getStatus().name() : null, Comparator.<String>naturalOrder())),
+            Map.entry("conditionStatus", nullsFirst(e -> e.getConditionStatus() != null ? e.getConditionStatus().name() : null, Comparator.<String>naturalOrder())),
+            Map.entry("location", nullsFirst(Equipment::getLocation, String.CASE_INSENSITIVE_ORDER)),
+            Map.entry("serialNumber", nullsFirst(Equipment::getSerialNumber, String.CASE_INSENSITIVE_ORDER)),
+            Map.entry("purchaseDate", nullsFirst(Equipment::getPurchaseDate, Comparator.naturalOrder())),
+            Map.entry("createdAt", nullsFirst(Equipment::getCreatedAt, Comparator.naturalOrder())),
+            Map.entry("updatedAt", nullsFirst(Equipment::getUpdatedAt, Comparator.naturalOrder()))
+    );
+
+    private final EquipmentRepository equipmentRepository;
+    private final EquipmentSearchIndex searchIndex;
+    private final EquipmentTypeaheadIndex typeaheadIndex;
+    private final EquipmentFacetCounter facetCounter;
+    private final EquipmentSearchCache searchCache;
+    private final SearchMode defaultMode;
+    private final Timer indexTimer;
+    private final Timer databaseTimer;
+    private final Timer fullTextTimer;
+    private final Timer typeaheadTimer;
+    private final Timer scrollTimer;
+
+    public EquipmentSearchService(EquipmentRepository equipmentRepository, EquipmentSearchIndex searchIndex,
+                                  EquipmentTypeaheadIndex typeaheadIndex, EquipmentFacetCounter facetCounter,
+                                  EquipmentSearchCache searchCache, MeterRegistry meterRegistry,
+                                  @Value("${equipment.search.mode:INDEX}") SearchMode defaultMode) {
+        this.equipmentRepository = equipmentRepository;
+        this.searchIndex = searchIndex;
+        this.typeaheadIndex = typeaheadIndex;
+        this.facetCounter = facetCounter;
+        this.searchCache = searchCache;
+        this.defaultMode = defaultMode;
+        this.indexTimer = Timer.builder("equipment.search.latency")
+                .description("Time to answer an equipment search")
+                .tag("path", "index")
+                .register(meterRegistry);
+        this.databaseTimer = Timer.builder("equipment.search.latency")
+                .description("Time to answer an equipment search")
+                .tag("path", "database")
+                .register(meterRegistry);
+        this.fullTextTimer = Timer.builder("equipment.search.latency")
+                .description("Time to answer an equipment search")
+                .tag("path", "fulltext")
+                .register(meterRegistry);
+        this.typeaheadTimer = Timer.builder("equipment.typeahead.latency")
+                .description("Time to answer a typeahead lookup")
+                .register(meterRegistry);
+        this.scrollTimer = Timer.builder("equipment.search.latency")
+                .description("Time to answer an equipment search")
+                .tag("path", "scroll")
+                .register(meterRegistry);
+    }
+
+    public Page<Equipment> search(EquipmentSearchRequest request) {
+        SearchMode mode = request.getSearchMode() != null ? request.getSearchMode() : defaultMode;
+        boolean hasTerm = request.getSearchTerm() != null && !request.getSearchTerm().isBlank();
+        if (hasTerm && mode == SearchMode.INDEX) {
+            Optional<Page<Equipment>> fromIndex = indexTimer.record(() -> searchIndex(request));
+            if (fromIndex.isPresent()) {
+                return fromIndex.get();
+            }
+        }
+        if (hasTerm && mode == SearchMode.FULLTEXT) {
+            return fullTextTimer.record(() -> searchDatabase(request, true));
+        }
+        if (EquipmentSearchCache.isCacheable(request)) {
+            return searchCache.getOrLoad(request, () -> databaseTimer.record(() -> searchDatabase(request, false)));
+        }
+        return databaseTimer.record(() -> searchDatabase(request, false));
+    }
+
+    /**
+     * Items whose inventarnummer, serial number or a word of their bezeichnung starts with the
+     * prefix. Until the trie is built only inventarnummer prefixes are looked up in the database.
+     */
+    public List<EquipmentSuggestion> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        int cappedLimit = Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+        return typeaheadTimer.record(() -> typeaheadIndex.suggest(prefix, cappedLimit).orElseGet(() ->
+                equipmentRepository.findByInventarnummerStartingWithOrderByInventarnummerAsc(prefix.trim(), PageRequest.of(0, cappedLimit))
+                        .stream().map(EquipmentSuggestion::of).toList()));
+    }
+
+    /**
+     * Counts per category, status, condition and location under the request's filters. The
+     * search term, paging and sorting are ignored.
+     */
+    public EquipmentFacets facets(EquipmentSearchRequest request) {
+        EquipmentFacetCounter.Filter filter = new EquipmentFacetCounter.Filter(
+                request.getCategory(), request.getStatus(), request.getConditionStatus(), request.getLocation());
+        return facetCounter.facets(filter).orElseGet(() -> facetCounter.count(filter));
+    }
+
+    /**
+     * Seek-paginated search for infinite scrolling: one query per page, no COUNT. Runs in the
+     * database, so a search term uses the FULLTEXT predicate in INDEX and FULLTEXT mode and LIKE
+     * otherwise; without a mode on the request, {@code equipment.search.mode} decides. Without a
+     * search term the total comes from the in-memory facet counts.
+     */
+    public CursorPage<Equipment> scroll(EquipmentSearchRequest request) {
+        boolean descending = request.getSortDirection().equalsIgnoreCase("DESC");
+        String property = request.getSortBy();
+        Sort sort = SCROLL_SORTS.sort(property, descending);
+        boolean hasTerm = request.getSearchTerm() != null && !request.getSearchTerm().isBlank();
+        SearchMode mode = request.getSearchMode() != null ? request.getSearchMode() : defaultMode;
+        // The in-memory index has no cursor order, so INDEX scrolls via the FULLTEXT index
+        boolean fullText = hasTerm && (mode == SearchMode.INDEX || mode == SearchMode.FULLTEXT);
+
+        Specification<Equipment> spec = databaseFilter(request, fullText)
+                .and(SCROLL_SORTS.after(request.getCursor(), property, descending));
+        int size = request.getSize();
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        List<Equipment> rows = scrollTimer.record(() ->
+                equipmentRepository.findBy(spec, q -> q.sortBy(sort).limit(size + 1).all()));
+
+        Long total = hasTerm ? null : facetCounter.facets(new EquipmentFacetCounter.Filter(
+                request.getCategory(), request.getStatus(), request.getConditionStatus(), request.getLocation()))
+                .map(EquipmentFacets::getTotal).orElse(null);
+        return SCROLL_SORTS.toPage(rows, size, property, descending, total);
+    }
+
+    private Optional<Page<Equipment>> searchIndex(EquipmentSearchRequest request) {
+        boolean byRelevance = SORT_BY_RELEVANCE.equalsIgnoreCase(request.getSortBy());
+        Comparator<Equipment> order = SORTS.get(request.getSortBy());
+        if (order == null && !byRelevance) {
+            // Unknown property; let the database path report it as before
+            return Optional.empty();
+        }
+        boolean descending = request.getSortDirection().equalsIgnoreCase("DESC");
+
+        return searchIndex.search(request.getSearchTerm(), filterFor(request)).map(hits -> {
+            Comparator<EquipmentSearchIndex.Hit> comparator;
+            if (byRelevance) {
+                // Always best first; the direction only applies to properties
+                comparator = Comparator.comparingDouble(EquipmentSearchIndex.Hit::score).reversed();
+            } else {
+                Comparator<Equipment> directed = descending ? order.reversed() : order;
+                comparator = Comparator.comparing(EquipmentSearchIndex.Hit::equipment, directed);
+            }
+            comparator = comparator.thenComparing(hit -> hit.equipment().getId());
+
+            Pageable pageable = PageRequest.of(request.getPage(), request.getSize(), pageSort(request));
+            List<Equipment> content = hits.stream()
+                    .sorted(comparator)
+                    .skip(pageable.getOffset())
+                    .limit(pageable.getPageSize())
+                    .map(EquipmentSearchIndex.Hit::equipment)
+                    .toList();
+            return new PageImpl<>(content, pageable, hits.size());
+        });
+    }
+
+    private static Predicate<Equipment> filterFor(EquipmentSearchRequest request) {
+        Predicate<Equipment> filter = e -> true;
+        if (request.getCategory() != null) {
+            filter = filter.and(e -> e.getCategory() == request.getCategory());
+        }
+        if (request.getStatus() != null) {
+            filter = filter.and(e -> e.getStatus() == request.getStatus());
+        }
+        if (request.getConditionStatus() != null) {
+            filter = filter.and(e -> e.getConditionStatus() == request.getConditionStatus());
+        }
+        if (request.getLocation() != null && !request.getLocation().trim().isEmpty()) {
+            String location = request.getLocation().toLowerCase(Locale.ROOT);
+            filter = filter.and(e -> e.getLocation() != null && e.getLocation().toLowerCase(Locale.ROOT).contains(location));
+        }
+        return filter;
+    }
+
+    private Page<Equipment> searchDatabase(EquipmentSearchRequest request, boolean fullText) {
+        Pageable pageable = PageRequest.of(request.getPage(), request.getSize(), pageSort(request));
+        return equipmentRepository.findAll(databaseFilter(request, fullText), pageable);
+    }
+
+    private static Specification<Equipment> databaseFilter(EquipmentSearchRequest request, boolean fullText) {
+        Specification<Equipment> spec = Specification.where(null);
+
+        if (request.getSearchTerm() != null) {
+            spec = spec.and(fullText
+                    ? EquipmentSpecifications.matchesSearchTerm(request.getSearchTerm())
+                    : EquipmentSpecifications.hasSearchTerm(request.getSearchTerm()));
+        }
+        if (request.getCategory() != null) {
+            spec = spec.and(EquipmentSpecifications.hasCategory(request.getCategory()));
+        }
+        if (request.getStatus() != null) {
+            spec = spec.and(EquipmentSpecifications.hasStatus(request.getStatus()));
+        }
+        if (request.getConditionStatus() != null) {
+            spec = spec.and(EquipmentSpecifications.hasConditionStatus(request.getConditionStatus()));
+        }
+        if (request.getLocation() != null) {
+            spec = spec.and(EquipmentSpecifications.hasLocation(request.getLocation()));
+        }
+        return spec;
+    }
+
+    private static Sort pageSort(EquipmentSearchRequest request) {
+        String property = SORT_BY_RELEVANCE.equalsIgnoreCase(request.getSortBy()) ? "id" : request.getSortBy();
+        return Sort.by(
+                request.getSortDirection().equalsIgnoreCase("DESC") ? Sort.Direction.DESC : Sort.Direction.ASC,
+                property
+        );
+    }
+
+    private static <T> Comparator<Equipment> nullsFirst(Function<Equipment, T> key, Comparator<T> order) {
+        return Comparator.comparing(key, Comparator.nullsFirst(order));
+    }
+}
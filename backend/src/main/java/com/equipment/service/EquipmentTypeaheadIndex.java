@@ -0,0 +1,274 @@
+package com.equipment.service;
+
+import com.equipment.dto.EquipmentSuggestion;
+import com.equipment.event.EquipmentChangedEvent;
+import com.equipment.model.Equipment;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Compressed prefix trie (radix tree) over inventarnummer, serial number and bezeichnung for
+ * typeahead. Keys are lower-cased; bezeichnung is also indexed from the start of each word,
+ * so "lap" finds "Dell Laptop". A lookup walks the prefix and collects completions depth-first
+ * in key order until it has enough, so its cost depends on the prefix and the limit, not on
+ * the number of items.
+ * <p>
+ * Kept current like {@link EquipmentSearchIndex}, by {@link EquipmentReadModels}: from committed
+ * {@link EquipmentChangedEvent}s, with a rebuild at startup and periodically for other replicas' writes.
+ */
+@Component
+public class EquipmentTypeaheadIndex extends EquipmentReadModel<EquipmentTypeaheadIndex.Trie> {
+
+    public EquipmentTypeaheadIndex(MeterRegistry meterRegistry) {
+        Gauge.builder("equipment.typeahead.keys", this, i -> i.read(t -> t.keyCount, 0))
+                .description("Keys in the equipment typeahead trie")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Up to {@code limit} items with a key starting with the prefix, in key order, or empty if
+     * the trie has not been built yet.
+     */
+    public Optional<List<EquipmentSuggestion>> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        return Optional.ofNullable(read(t -> t.suggest(key, limit), null));
+    }
+
+    @Override
+    protected Trie newState() {
+        return new Trie();
+    }
+
+    @Override
+    protected void apply(Trie target, Integer id, Optional<Equipment> change) {
+        if (change.isPresent()) {
+            target.put(change.get());
+        } else {
+            target.remove(id);
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // The whole value of each field, plus every word start of bezeichnung
+    private static Set<String> keysOf(Equipment equipment) {
+        Set<String> keys = new LinkedHashSet<>();
+        addKey(keys, equipment.getInventarnummer());
+        addKey(keys, equipment.getSerialNumber());
+        String bezeichnung = normalize(equipment.getBezeichnung());
+        addKey(keys, bezeichnung);
+        for (int i = 1; i < bezeichnung.length(); i++) {
+            if (!Character.isLetterOrDigit(bezeichnung.charAt(i - 1)) && Character.isLetterOrDigit(bezeichnung.charAt(i))) {
+                addKey(keys, bezeichnung.substring(i));
+            }
+        }
+        return keys;
+    }
+
+    private static void addKey(Set<String> keys, String value) {
+        String key = normalize(value);
+        if (!key.isEmpty()) {
+            keys.add(key);
+        }
+    }
+
+    /**
+     * One generation of the trie. Not thread-safe; guarded by the enclosing lock once published.
+     */
+    static final class Trie {
+        private final Node root = new Node("");
+        private final Map<Integer, Equipment> items = new HashMap<>();
+        private final Map<Integer, Set<String>> keysById = new HashMap<>();
+        private int keyCount;
+
+        void put(Equipment equipment) {
+            remove(equipment.getId());
+            Set<String> keys = keysOf(equipment);
+            for (String key : keys) {
+                insert(key, equipment.getId());
+            }
+            items.put(equipment.getId(), equipment);
+            keysById.put(equipment.getId(), keys);
+        }
+
+        void remove(Integer id) {
+            Set<String> keys = keysById.remove(id);
+            if (keys == null) {
+                return;
+            }
+            items.remove(id);
+            for (String key : keys) {
+                delete(root, key, id);
+            }
+        }
+
+        List<EquipmentSuggestion> suggest(String prefix, int limit) {
+            // Walk down to the node covering the prefix; it may end inside an edge label
+            Node node = root;
+            int matched = 0;
+            while (matched < prefix.length()) {
+                Node child = node.child(prefix.charAt(matched));
+                if (child == null) {
+                    return List.of();
+                }
+                int common = commonPrefix(child.label, prefix, matched);
+                if (matched + common < prefix.length() && common < child.label.length()) {
+                    return List.of();
+                }
+                matched += common;
+                node = child;
+            }
+            Map<Integer, EquipmentSuggestion> found = new LinkedHashMap<>();
+            collect(node, limit, found);
+            return new ArrayList<>(found.values());
+        }
+
+        private void collect(Node node, int limit, Map<Integer, EquipmentSuggestion> found) {
+            for (Integer id : node.ids) {
+                if (found.size() >= limit) {
+                    return;
+                }
+                found.computeIfAbsent(id, i -> EquipmentSuggestion.of(items.get(i)));
+            }
+            for (Node child : node.children) {
+                if (found.size() >= limit) {
+                    return;
+                }
+                collect(child, limit, found);
+            }
+        }
+
+        private void insert(String key, Integer id) {
+            Node node = root;
+            int matched = 0;
+            while (true) {
+                if (matched == key.length()) {
+                    if (node.ids.add(id) && node.ids.size() == 1) {
+                        keyCount++;
+                    }
+                    return;
+                }
+                Node child = node.child(key.charAt(matched));
+                if (child == null) {
+                    Node leaf = new Node(key.substring(matched));
+                    leaf.ids.add(id);
+                    node.addChild(leaf);
+                    keyCount++;
+                    return;
+                }
+                int common = commonPrefix(child.label, key, matched);
+                if (common < child.label.length()) {
+                    // Split the edge at the point where the key diverges
+                    Node split = new Node(child.label.substring(0, common));
+                    node.replaceChild(child, split);
+                    child.label = child.label.substring(common);
+                    split.addChild(child);
+                    child = split;
+                }
+                matched += common;
+                node = child;
+            }
+        }
+
+        // Removes the id under the key and prunes or merges nodes left without a purpose
+        private boolean delete(Node node, String key, Integer id) {
+            if (key.isEmpty()) {
+                if (node.ids.remove(id) && node.ids.isEmpty()) {
+                    keyCount--;
+                }
+            } else {
+                Node child = node.child(key.charAt(0));
+                if (child == null || !key.startsWith(child.label)) {
+                    return false;
+                }
+                if (delete(child, key.substring(child.label.length()), id)) {
+                    node.removeChild(child);
+                } else if (child.ids.isEmpty() && child.children.length == 1) {
+                    Node only = child.children[0];
+                    only.label = child.label + only.label;
+                    node.replaceChild(child, only);
+                }
+            }
+            return node != root && node.ids.isEmpty() && node.children.length == 0;
+        }
+
+        private static int commonPrefix(String label, String key, int from) {
+            int max = Math.min(label.length(), key.length() - from);
+            int i = 0;
+            while (i < max && label.charAt(i) == key.charAt(from + i)) {
+                i++;
+            }
+            return i;
+        }
+    }
+
+    private static final class Node {
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private String label;
+        // Sorted by the first character of their label, which is unique among siblings
+        private Node[] children = NO_CHILDREN;
+        // Items whose key ends exactly here, in insertion order
+        private final Set<Integer> ids = new LinkedHashSet<>();
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        Node child(char first) {
+            int at = indexOf(first);
+            return at >= 0 ? children[at] : null;
+        }
+
+        void addChild(Node child) {
+            int at = -indexOf(child.label.charAt(0)) - 1;
+            Node[] grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, at);
+            grown[at] = child;
+            System.arraycopy(children, at, grown, at + 1, children.length - at);
+            children = grown;
+        }
+
+        void replaceChild(Node old, Node replacement) {
+            children[indexOf(old.label.charAt(0))] = replacement;
+        }
+
+        void removeChild(Node child) {
+            int at = indexOf(child.label.charAt(0));
+            Node[] shrunk = new Node[children.length - 1];
+            System.arraycopy(children, 0, shrunk, 0, at);
+            System.arraycopy(children, at + 1, shrunk, at, children.length - at - 1);
+            children = shrunk;
+        }
+
+        private int indexOf(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char c = children[mid].label.charAt(0);
+                if (c < first) {
+                    low = mid + 1;
+                } else if (c > first) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.equipment.service;
+
+import com.equipment.exception.EquipmentException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Locale;
+
+/**
+ * Streams full tables to an output stream as CSV or NDJSON. Rows are read through a forward-only
+ * MySQL streaming result set and written as they arrive, so memory use does not depend on row count.
+ */
+@Service
+public class ExportService {
+
+    public enum Dataset {
+        LOANS("SELECT a.id, a.equipment_id, e.inventarnummer, e.bezeichnung, a.benutzer_id, b.benutzername, " +
+              "a.ausleihe, a.expected_return_date, a.created_at " +
+              "FROM ausleihe a JOIN equipment e ON e.id = a.equipment_id JOIN benutzer b ON b.id = a.benutzer_id ORDER BY a.id"),
+        USERS("SELECT id, benutzername, vorname, nachname, email, role, account_status, two_factor_enabled, " +
+              "last_login, created_at FROM benutzer ORDER BY id"),
+        // Archived (older) rows first, then the hot partitions
+        AUDIT("SELECT id, action_type, benutzername, benutzer_id, equipmentinventarnummer, equipmentbezeichnung, " +
+              "equipment_id, ausleihdatum, rueckgabedatum, created_at FROM logitem_archive ORDER BY id",
+              "SELECT id, action_type, benutzername, benutzer_id, equipmentinventarnummer, equipmentbezeichnung, " +
+              "equipment_id, ausleihdatum, rueckgabedatum, created_at FROM logitem ORDER BY id");
+
+        private final String[] queries;
+
+        Dataset(String... queries) {
+            this.queries = queries;
+        }
+
+        public static Dataset fromPath(String value) {
+            try {
+                return valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw EquipmentException.notFound("Unknown export: " + value);
+            }
+        }
+    }
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format fromParam(String value) {
+            try {
+                return valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw EquipmentException.badRequest("Unsupported export format: " + value);
+            }
+        }
+    }
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public ExportService(DataSource dataSource, ObjectMapper objectMapper) {
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        // Connector/J only streams row by row (instead of buffering the whole result) with this fetch size
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+        this.objectMapper = objectMapper;
+    }
+
+    public void export(Dataset dataset, Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        try {
+            if (format == Format.CSV) {
+                CsvRowWriter csv = new CsvRowWriter(writer);
+                for (String sql : dataset.queries) {
+                    streamingJdbcTemplate.query(sql, csv);
+                }
+            } else {
+                RowCallbackHandler ndjson = new NdjsonRowWriter(writer);
+                for (String sql : dataset.queries) {
+                    streamingJdbcTemplate.query(sql, ndjson);
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private static Object value(ResultSet rs, int column) throws SQLException {
+        Object value = rs.getObject(column);
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString();
+        }
+        if (value instanceof Date date) {
+            return date.toLocalDate().toString();
+        }
+        return value;
+    }
+
+    /**
+     * Writes the header from the result set metadata before the first row, so an empty dataset
+     * still exports its column names.
+     */
+    private static final class CsvRowWriter implements ResultSetExtractor<Void> {
+        private final Writer writer;
+        private boolean headerWritten;
+
+        CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public Void extractData(ResultSet rs) throws SQLException {
+            try {
+                ResultSetMetaData meta = rs.getMetaData();
+                int columns = meta.getColumnCount();
+                if (!headerWritten) {
+                    for (int i = 1; i <= columns; i++) {
+                        writeField(meta.getColumnLabel(i), i == columns);
+                    }
+                    headerWritten = true;
+                }
+                while (rs.next()) {
+                    for (int i = 1; i <= columns; i++) {
+                        Object value = value(rs, i);
+                        writeField(value != null ? value.toString() : "", i == columns);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return null;
+        }
+
+        private void writeField(String value, boolean last) throws IOException {
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+            writer.write(last ? '\n' : ',');
+        }
+    }
+
+    private final class NdjsonRowWriter implements RowCallbackHandler {
+        private final Writer writer;
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(Writer writer) {
+            this.writer = writer;
+            try {
+                this.generator = objectMapper.getFactory().createGenerator(writer)
+                        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            try {
+                ResultSetMetaData meta = rs.getMetaData();
+                generator.writeStartObject();
+                for (int i = 1; i <= meta.getColumnCount(); i++) {
+                    generator.writeObjectField(meta.getColumnLabel(i), value(rs, i));
+                }
+                generator.writeEndObject();
+                generator.flush();
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
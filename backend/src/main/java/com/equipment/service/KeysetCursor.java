@@ -0,0 +1,37 @@
+package com.equipment.service;
+
+import com.equipment.exception.EquipmentException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Encodes the sort-key values of the last row of a page into an opaque, URL-safe cursor.
+ */
+public final class KeysetCursor {
+
+    private static final String SEPARATOR = "\u001F";
+
+    private KeysetCursor() {
+    }
+
+    public static String encode(Object... values) {
+        String joined = String.join(SEPARATOR, Arrays.stream(values).map(v -> v == null ? "" : v.toString()).toList());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joined.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static List<String> decode(String cursor, int expectedParts) {
+        try {
+            String joined = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            List<String> parts = Arrays.asList(joined.split(SEPARATOR, -1));
+            if (parts.size() != expectedParts) {
+                throw EquipmentException.badRequest("Invalid cursor");
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw EquipmentException.badRequest("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.equipment.service;
+
+import com.equipment.dto.CursorPage;
+import com.equipment.exception.EquipmentException;
+import com.equipment.repository.specification.SeekSpecifications;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The properties a search can be scrolled by, with seek pagination on (property, id). Only
+ * non-nullable columns qualify, so the seek predicate never has to order NULLs.
+ * <p>
+ * Cursors carry the property and direction they were issued for, so a cursor cannot be
+ * replayed against a different order.
+ */
+final class KeysetSort<T> {
+
+    private record Key<T>(Function<T, ? extends Comparable<?>> getter, Function<String, ? extends Comparable<?>> parser) {}
+
+    private final Function<T, Integer> idOf;
+    private final Map<String, Key<T>> keys = new HashMap<>();
+
+    KeysetSort(Function<T, Integer> idOf) {
+        this.idOf = idOf;
+    }
+
+    KeysetSort<T> string(String property, Function<T, String> getter) {
+        keys.put(property, new Key<>(getter, Function.identity()));
+        return this;
+    }
+
+    <E extends Enum<E>> KeysetSort<T> enumeration(String property, Function<T, E> getter, Class<E> type) {
+        keys.put(property, new Key<>(getter, value -> Enum.valueOf(type, value)));
+        return this;
+    }
+
+    KeysetSort<T> dateTime(String property, Function<T, LocalDateTime> getter) {
+        keys.put(property, new Key<>(getter, LocalDateTime::parse));
+        return this;
+    }
+
+    Sort sort(String property, boolean descending) {
+        key(property);
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return property.equals("id") ? Sort.by(direction, "id") : Sort.by(direction, property, "id");
+    }
+
+    /**
+     * The rows following the cursor, or no restriction for the first page.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    Specification<T> after(String cursor, String property, boolean descending) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        Key<T> key = key(property);
+        List<String> position = KeysetCursor.decode(cursor, 4);
+        if (!position.get(0).equals(property) || !position.get(1).equals(direction(descending))) {
+            throw EquipmentException.badRequest("Cursor was issued for a different sort order");
+        }
+        try {
+            Integer id = Integer.valueOf(position.get(3));
+            Comparable value = property.equals("id") ? id : key.parser().apply(position.get(2));
+            return SeekSpecifications.after(property, value, id, descending);
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw EquipmentException.badRequest("Invalid cursor");
+        }
+    }
+
+    /**
+     * Turns {@code size + 1} fetched rows into a page; the extra row only signals that another page exists.
+     */
+    CursorPage<T> toPage(List<T> rows, int size, String property, boolean descending, Long total) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null, total);
+        }
+        List<T> page = List.copyOf(rows.subList(0, size));
+        T last = page.get(size - 1);
+        Integer id = idOf.apply(last);
+        Object value = property.equals("id") ? id : key(property).getter().apply(last);
+        String cursor = KeysetCursor.encode(property, direction(descending),
+                value instanceof Enum<?> e ? e.name() : value, id);
+        return new CursorPage<>(page, cursor, total);
+    }
+
+    private Key<T> key(String property) {
+        if (property.equals("id")) {
+            return null;
+        }
+        Key<T> key = keys.get(property);
+        if (key == null) {
+            throw EquipmentException.badRequest("Cannot scroll by " + property + "; use one of " + allowed());
+        }
+        return key;
+    }
+
+    private String allowed() {
+        List<String> names = new ArrayList<>(keys.keySet());
+        names.add("id");
+        names.sort(null);
+        return String.join(", ", names);
+    }
+
+    private static String direction(boolean descending) {
+        return descending ? "DESC" : "ASC";
+    }
+}
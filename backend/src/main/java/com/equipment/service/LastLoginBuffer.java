@@ -0,0 +1,82 @@
+package com.equipment.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind buffer for last-login timestamps. Logins only record the time in memory, keeping
+ * the latest value per user, and a scheduled flush writes all pending values in one JDBC batch.
+ * The UPDATE touches last_login alone and keeps updated_at, since a login does not change the
+ * account. Pending values are flushed on shutdown; a crash loses at most one flush interval.
+ */
+@Service
+public class LastLoginBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(LastLoginBuffer.class);
+
+    // Never moves last_login backwards, e.g. if a newer login was flushed by another replica
+    private static final String UPDATE_SQL = "UPDATE benutzer SET last_login = ?, updated_at = updated_at "
+            + "WHERE id = ? AND (last_login IS NULL OR last_login < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Integer, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final Counter flushed;
+
+    public LastLoginBuffer(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+
+        Gauge.builder("auth.last-login.pending", pending, Map::size)
+                .description("Users whose last login is waiting to be written")
+                .register(meterRegistry);
+        this.flushed = Counter.builder("auth.last-login.flushed")
+                .description("Last-login timestamps written to the database")
+                .register(meterRegistry);
+    }
+
+    public void record(Integer benutzerId, LocalDateTime loginTime) {
+        pending.merge(benutzerId, loginTime, (a, b) -> a.isAfter(b) ? a : b);
+    }
+
+    @Scheduled(fixedDelayString = "${auth.last-login.flush-interval-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        // Each entry is removed atomically, so a login recorded meanwhile stays for the next flush
+        List<Object[]> batch = new ArrayList<>();
+        for (Integer benutzerId : pending.keySet()) {
+            LocalDateTime loginTime = pending.remove(benutzerId);
+            if (loginTime != null) {
+                Timestamp timestamp = Timestamp.valueOf(loginTime);
+                batch.add(new Object[]{timestamp, benutzerId, timestamp});
+            }
+        }
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, batch);
+            flushed.increment(batch.size());
+        } catch (Exception e) {
+            // Put the values back unless a newer login was recorded in the meantime
+            batch.forEach(row -> record((Integer) row[1], ((Timestamp) row[0]).toLocalDateTime()));
+            log.warn("Failed to flush {} last-login timestamps: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        flush();
+    }
+}
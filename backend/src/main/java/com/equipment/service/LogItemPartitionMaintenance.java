@@ -0,0 +1,217 @@
+package com.equipment.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps logitem's monthly range partitions ahead of the clock and moves partitions older than
+ * the hot window into logitem_archive. Runs under a MySQL named lock so only one replica does
+ * the DDL at a time; all statements share the connection that holds the lock.
+ * <p>
+ * V7 put all existing history into one p_start partition. The first run splits it into monthly
+ * partitions from the oldest row on, so history is archived month by month like new rows.
+ */
+@Component
+public class LogItemPartitionMaintenance {
+
+    private static final Logger log = LoggerFactory.getLogger(LogItemPartitionMaintenance.class);
+
+    private static final String LOCK_NAME = "logitem_partition_maintenance";
+    private static final String MAX_PARTITION = "p_max";
+    private static final String START_PARTITION = "p_start";
+    private static final Pattern PARTITION_NAME = Pattern.compile("p[0-9A-Za-z_]+");
+    private static final DateTimeFormatter MONTH_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String COLUMNS = "id, action_type, benutzername, benutzer_id, equipmentinventarnummer, " +
+            "equipmentbezeichnung, equipment_id, ausleihdatum, rueckgabedatum, created_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+    private final boolean archiveEnabled;
+    private final int hotMonths;
+    private final int archiveChunkSize;
+
+    public LogItemPartitionMaintenance(JdbcTemplate jdbcTemplate,
+                                       @Value("${audit.partition.months-ahead:2}") int monthsAhead,
+                                       @Value("${audit.archive.enabled:true}") boolean archiveEnabled,
+                                       @Value("${audit.archive.hot-months:12}") int hotMonths,
+                                       @Value("${audit.archive.chunk-size:10000}") int archiveChunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+        this.archiveEnabled = archiveEnabled;
+        this.hotMonths = hotMonths;
+        this.archiveChunkSize = archiveChunkSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        runSafely();
+    }
+
+    @Scheduled(cron = "${audit.partition.maintenance-cron:0 15 3 * * *}")
+    public void scheduledMaintenance() {
+        runSafely();
+    }
+
+    private void runSafely() {
+        try {
+            maintain();
+        } catch (DataAccessException e) {
+            log.error("logitem partition maintenance failed", e);
+        }
+    }
+
+    public void maintain() {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            JdbcTemplate jdbc = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            Integer acquired = jdbc.queryForObject("SELECT GET_LOCK(?, 0)", Integer.class, LOCK_NAME);
+            if (acquired == null || acquired != 1) {
+                log.debug("logitem partition maintenance is running elsewhere");
+                return null;
+            }
+            try {
+                List<Partition> partitions = readPartitions(jdbc);
+                if (partitions.isEmpty()) {
+                    log.warn("logitem is not partitioned, skipping partition maintenance");
+                    return null;
+                }
+                addUpcomingPartitions(jdbc, partitions);
+                splitStartPartition(jdbc, readPartitions(jdbc));
+                if (archiveEnabled) {
+                    archiveColdPartitions(jdbc, readPartitions(jdbc));
+                }
+            } finally {
+                jdbc.queryForObject("SELECT RELEASE_LOCK(?)", Integer.class, LOCK_NAME);
+            }
+            return null;
+        });
+    }
+
+    private List<Partition> readPartitions(JdbcTemplate jdbc) {
+        return jdbc.query(
+                "SELECT partition_name, partition_description FROM information_schema.partitions " +
+                "WHERE table_schema = DATABASE() AND table_name = 'logitem' AND partition_name IS NOT NULL " +
+                "ORDER BY partition_ordinal_position",
+                (rs, rowNum) -> {
+                    String description = rs.getString("partition_description");
+                    Long upperBound = "MAXVALUE".equalsIgnoreCase(description) ? null : Long.valueOf(description);
+                    return new Partition(rs.getString("partition_name"), upperBound);
+                });
+    }
+
+    /**
+     * Splits monthly partitions off p_max until the month {@code monthsAhead} from now is covered.
+     * p_max is normally empty at that point, so the reorganisation only rewrites metadata.
+     */
+    private void addUpcomingPartitions(JdbcTemplate jdbc, List<Partition> partitions) {
+        long highestBound = partitions.stream()
+                .filter(p -> p.upperBound() != null)
+                .mapToLong(Partition::upperBound)
+                .max()
+                .orElseThrow(() -> new IllegalStateException("logitem has no bounded partition"));
+
+        LocalDate month = LocalDate.ofEpochDay(Math.floorDiv(highestBound, 86_400L));
+        LocalDate lastMonth = LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1).plusMonths(monthsAhead);
+
+        StringBuilder definitions = new StringBuilder();
+        while (!month.isAfter(lastMonth)) {
+            LocalDate next = month.withDayOfMonth(1).plusMonths(1);
+            definitions.append("PARTITION p").append(month.format(MONTH_SUFFIX))
+                    .append(" VALUES LESS THAN (").append(epochSecond(next)).append("), ");
+            month = next;
+        }
+        if (definitions.isEmpty()) {
+            return;
+        }
+        jdbc.execute("ALTER TABLE logitem REORGANIZE PARTITION " + MAX_PARTITION + " INTO (" + definitions +
+                "PARTITION " + MAX_PARTITION + " VALUES LESS THAN MAXVALUE)");
+        log.info("Added logitem partitions up to {}", lastMonth.format(MONTH_SUFFIX));
+    }
+
+    /**
+     * Reorganises p_start into one partition per month from the month of its oldest row up to its
+     * bound, leaving p_start empty below them. This rewrites the history once; audit writes wait
+     * in the outbox meanwhile. Later runs find p_start empty and do nothing.
+     */
+    private void splitStartPartition(JdbcTemplate jdbc, List<Partition> partitions) {
+        Partition first = partitions.get(0);
+        if (!START_PARTITION.equals(first.name()) || first.upperBound() == null) {
+            return;
+        }
+        // Same expression as the partitioning function, so months line up with the bounds
+        Long oldest = jdbc.queryForObject(
+                "SELECT UNIX_TIMESTAMP(MIN(created_at)) FROM logitem PARTITION (" + START_PARTITION + ")", Long.class);
+        if (oldest == null) {
+            return;
+        }
+        LocalDate month = LocalDate.ofEpochDay(Math.floorDiv(oldest, 86_400L)).withDayOfMonth(1);
+        StringBuilder definitions = new StringBuilder("PARTITION " + START_PARTITION +
+                " VALUES LESS THAN (" + epochSecond(month) + ")");
+        while (epochSecond(month) < first.upperBound()) {
+            LocalDate next = month.plusMonths(1);
+            definitions.append(", PARTITION p").append(month.format(MONTH_SUFFIX))
+                    .append(" VALUES LESS THAN (").append(Math.min(epochSecond(next), first.upperBound())).append(")");
+            month = next;
+        }
+        jdbc.execute("ALTER TABLE logitem REORGANIZE PARTITION " + START_PARTITION + " INTO (" + definitions + ")");
+        log.info("Split logitem partition {} into monthly partitions from {}", START_PARTITION,
+                LocalDate.ofEpochDay(Math.floorDiv(oldest, 86_400L)).format(MONTH_SUFFIX));
+    }
+
+    /**
+     * Copies every partition that ends before the hot window into logitem_archive and drops it.
+     * Rows are copied in id ranges of {@code audit.archive.chunk-size}, each committed on its
+     * own, so no single statement holds the whole month. INSERT IGNORE makes a rerun after a
+     * failure before the drop harmless.
+     */
+    private void archiveColdPartitions(JdbcTemplate jdbc, List<Partition> partitions) {
+        long cutoff = epochSecond(LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1).minusMonths(hotMonths));
+        for (Partition partition : partitions) {
+            if (partition.upperBound() == null || partition.upperBound() > cutoff) {
+                continue;
+            }
+            if (!PARTITION_NAME.matcher(partition.name()).matches()) {
+                log.warn("Skipping logitem partition with unexpected name {}", partition.name());
+                continue;
+            }
+            long copied = archive(jdbc, partition.name());
+            jdbc.execute("ALTER TABLE logitem DROP PARTITION " + partition.name());
+            log.info("Archived logitem partition {} ({} rows)", partition.name(), copied);
+        }
+    }
+
+    private long archive(JdbcTemplate jdbc, String partition) {
+        long[] ids = jdbc.queryForObject("SELECT MIN(id), MAX(id) FROM logitem PARTITION (" + partition + ")",
+                (rs, rowNum) -> rs.getObject(1) == null ? null : new long[]{rs.getLong(1), rs.getLong(2)});
+        if (ids == null) {
+            return 0;
+        }
+        long copied = 0;
+        for (long from = ids[0]; from <= ids[1]; from += archiveChunkSize) {
+            copied += jdbc.update("INSERT IGNORE INTO logitem_archive (" + COLUMNS + ") SELECT " + COLUMNS +
+                    " FROM logitem PARTITION (" + partition + ") WHERE id >= ? AND id < ?", from, from + archiveChunkSize);
+        }
+        return copied;
+    }
+
+    private static long epochSecond(LocalDate date) {
+        return date.atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private record Partition(String name, Long upperBound) {}
+}
@@ -0,0 +1,200 @@
+package com.equipment.service;
+
+import com.equipment.event.EquipmentChangedEvent;
+import com.equipment.event.LoanChangedEvent;
+import com.equipment.model.Ausleihe;
+import com.equipment.repository.AusleiheRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Process-local set of overdue loans. Open loans with an expected return date wait in a
+ * due-date ordered map and move to the overdue set when the day boundary passes them, so
+ * answering "what is overdue" never scans the ausleihe table. Borrow/return events keep it
+ * current; a periodic resync from the database corrects drift and changes made by other replicas.
+ * Reads take the write lock, since they first move loans that became overdue.
+ */
+@Component
+public class OverdueLoanTracker extends ReadModel<Integer, Ausleihe, OverdueLoanTracker.State> {
+
+    private static final Logger log = LoggerFactory.getLogger(OverdueLoanTracker.class);
+
+    private static final Comparator<Ausleihe> BY_DUE_DATE =
+            Comparator.comparing(Ausleihe::getExpectedReturnDate).thenComparing(a -> a.getEquipment().getId());
+
+    private final AusleiheRepository ausleiheRepository;
+
+    public OverdueLoanTracker(AusleiheRepository ausleiheRepository, MeterRegistry meterRegistry) {
+        this.ausleiheRepository = ausleiheRepository;
+
+        Gauge.builder("loans.overdue.count", this, t -> t.getOverdueCount().orElse(0))
+                .description("Open loans whose expected return date has passed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the overdue loans ordered by expected return date, or empty if the tracker has not been loaded yet.
+     */
+    public Optional<List<Ausleihe>> getOverdueLoans() {
+        return Optional.ofNullable(update(state -> {
+            state.advance(LocalDate.now());
+            List<Ausleihe> overdue = new ArrayList<>(state.overdue.values());
+            overdue.sort(BY_DUE_DATE);
+            return overdue;
+        }, null));
+    }
+
+    public Optional<Integer> getOverdueCount() {
+        return Optional.ofNullable(update(state -> {
+            state.advance(LocalDate.now());
+            return state.overdue.size();
+        }, null));
+    }
+
+    @Scheduled(cron = "${loans.overdue.advance-cron:0 0 0 * * *}")
+    public void advanceDay() {
+        update(state -> {
+            state.advance(LocalDate.now());
+            return null;
+        }, null);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        resync();
+    }
+
+    @Scheduled(fixedDelayString = "${loans.overdue.resync-interval-ms:600000}",
+            initialDelayString = "${loans.overdue.resync-interval-ms:600000}")
+    public void scheduledResync() {
+        resync();
+    }
+
+    public synchronized void resync() {
+        beginRebuild();
+        try {
+            State rebuilt = newState();
+            for (Ausleihe ausleihe : ausleiheRepository.findOpenWithExpectedReturnDate()) {
+                rebuilt.put(ausleihe);
+            }
+            publish(rebuilt);
+            log.debug("Overdue loan tracker resynced with {} open loans", rebuilt.dueDates.size());
+        } catch (Exception e) {
+            log.error("Failed to resync overdue loan tracker: {}", e.getMessage());
+        } finally {
+            endRebuild();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLoanChanged(LoanChangedEvent event) {
+        switch (event.getType()) {
+            case OPENED -> event.getLoans().forEach(a -> record(a.getEquipment().getId(), Optional.of(a)));
+            case CLOSED -> event.getEquipmentIds().forEach(id -> record(id, Optional.empty()));
+        }
+    }
+
+    // Imports (BULK) only add items, which have no loans yet, so only deletions concern the tracker
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEquipmentChanged(EquipmentChangedEvent event) {
+        if (event.getType() == EquipmentChangedEvent.Type.DELETED) {
+            event.getEquipmentIds().forEach(id -> record(id, Optional.empty()));
+        }
+    }
+
+    @Override
+    protected State newState() {
+        return new State(LocalDate.now());
+    }
+
+    @Override
+    protected void apply(State target, Integer equipmentId, Optional<Ausleihe> change) {
+        target.apply(equipmentId, change);
+    }
+
+    @Override
+    protected void beforePublish(State previous, State rebuilt) {
+        rebuilt.advance(LocalDate.now());
+    }
+
+    /**
+     * Open loans keyed by equipment id (each item has at most one open loan), split into those
+     * still pending by due date and those already overdue.
+     */
+    static final class State {
+        private final TreeMap<LocalDate, Map<Integer, Ausleihe>> pendingByDueDate = new TreeMap<>();
+        private final Map<Integer, Ausleihe> overdue = new LinkedHashMap<>();
+        private final Map<Integer, LocalDate> dueDates = new HashMap<>();
+        private LocalDate today;
+
+        State(LocalDate today) {
+            this.today = today;
+        }
+
+        void apply(Integer equipmentId, Optional<Ausleihe> change) {
+            remove(equipmentId);
+            change.ifPresent(this::put);
+        }
+
+        void put(Ausleihe ausleihe) {
+            LocalDate dueDate = ausleihe.getExpectedReturnDate();
+            if (dueDate == null) {
+                return;
+            }
+            Integer equipmentId = ausleihe.getEquipment().getId();
+            remove(equipmentId);
+            dueDates.put(equipmentId, dueDate);
+            if (dueDate.isBefore(today)) {
+                overdue.put(equipmentId, ausleihe);
+            } else {
+                pendingByDueDate.computeIfAbsent(dueDate, d -> new HashMap<>()).put(equipmentId, ausleihe);
+            }
+        }
+
+        void remove(Integer equipmentId) {
+            LocalDate dueDate = dueDates.remove(equipmentId);
+            if (dueDate == null) {
+                return;
+            }
+            if (overdue.remove(equipmentId) == null) {
+                Map<Integer, Ausleihe> sameDay = pendingByDueDate.get(dueDate);
+                if (sameDay != null) {
+                    sameDay.remove(equipmentId);
+                    if (sameDay.isEmpty()) {
+                        pendingByDueDate.remove(dueDate);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Moves every pending loan due before {@code newToday} into the overdue set.
+         */
+        void advance(LocalDate newToday) {
+            if (!newToday.isAfter(today)) {
+                return;
+            }
+            today = newToday;
+            Map<LocalDate, Map<Integer, Ausleihe>> due = pendingByDueDate.headMap(newToday, false);
+            due.values().forEach(overdue::putAll);
+            due.clear();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.equipment.service;
+
+import com.equipment.exception.EquipmentException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Small, bounded pool that runs password hashing and verification off the request threads.
+ * BCrypt is deliberately CPU-heavy; capping the threads keeps a login storm from occupying
+ * every core, and the bounded queue turns overload into an immediate 503 for logins instead
+ * of slowing down every other endpoint.
+ */
+@Component
+public class PasswordWorkerPool {
+
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitMs;
+
+    private final Timer queueWait;
+    private final Timer work;
+    private final Counter rejected;
+
+    public PasswordWorkerPool(MeterRegistry meterRegistry,
+                              @Value("${auth.password-pool.threads:0}") int threads,
+                              @Value("${auth.password-pool.queue-capacity:100}") int queueCapacity,
+                              @Value("${auth.password-pool.max-wait-ms:5000}") long maxWaitMs) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-worker-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.maxWaitMs = maxWaitMs;
+
+        this.queueWait = Timer.builder("auth.password.queue.wait")
+                .description("Time password work waited for a worker thread")
+                .register(meterRegistry);
+        this.work = Timer.builder("auth.password.work")
+                .description("Time spent hashing or verifying a password")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("auth.password.rejected")
+                .description("Password operations rejected because the worker pool was saturated")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.queue.depth", executor.getQueue(), BlockingQueue::size)
+                .description("Password operations waiting for a worker thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Worker threads currently hashing or verifying a password")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code task} on the pool and waits for its result.
+     *
+     * @throws EquipmentException 503 when the queue is full or the result is not ready within the wait limit
+     */
+    public <T> T call(Supplier<T> task) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueWait.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return work.record(task);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw EquipmentException.serviceUnavailable("Too many sign-in attempts in progress, please try again shortly");
+        }
+
+        try {
+            return future.get(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw EquipmentException.serviceUnavailable("Too many sign-in attempts in progress, please try again shortly");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw EquipmentException.serviceUnavailable("Sign-in was interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
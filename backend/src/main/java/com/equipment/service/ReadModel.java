@@ -0,0 +1,129 @@
+package com.equipment.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Process-local view of database rows, kept current from committed change events and replaced
+ * by periodic rebuilds that pick up other replicas' writes. Changes recorded while a rebuild is
+ * reading the database are replayed onto the rebuilt state before it is published, so a change
+ * committed during the load is not lost.
+ * <p>
+ * The published state is guarded by a read-write lock: readers go through {@link #read},
+ * changes through {@link #apply} under the write lock.
+ *
+ * @param <K> id of a changed row
+ * @param <C> new value of a changed row; empty means the row is gone
+ * @param <S> one generation of the state; not thread-safe itself
+ */
+abstract class ReadModel<K, C, S> {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Written under the write lock; volatile so states that are safe to share can be read without it
+    private volatile S state;
+    // Changes seen while a rebuild is reading the DB, replayed onto the new state before it is published
+    private Map<K, Optional<C>> changesDuringRebuild;
+
+    /**
+     * An empty generation of the state.
+     */
+    protected abstract S newState();
+
+    /**
+     * Applies one change to a generation of the state.
+     */
+    protected abstract void apply(S target, K id, Optional<C> change);
+
+    /**
+     * Called under the write lock right before {@code rebuilt} replaces {@code previous}, which
+     * is null on the first build.
+     */
+    protected void beforePublish(S previous, S rebuilt) {
+    }
+
+    /**
+     * Starts recording changes for a rebuild; call before reading the database and pair with
+     * {@link #endRebuild()}.
+     */
+    final void beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replays the changes recorded since {@link #beginRebuild()} onto the rebuilt state and publishes it.
+     */
+    final void publish(S rebuilt) {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild.forEach((id, change) -> apply(rebuilt, id, change));
+            beforePublish(state, rebuilt);
+            state = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    final void endRebuild() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a committed change to the published state and remembers it for a rebuild in progress.
+     */
+    final void record(K id, Optional<C> change) {
+        lock.writeLock().lock();
+        try {
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.put(id, change);
+            }
+            if (state != null) {
+                apply(state, id, change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    final <T> T read(Function<S, T> reader, T whenNotBuilt) {
+        lock.readLock().lock();
+        try {
+            return state != null ? reader.apply(state) : whenNotBuilt;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Like {@link #read}, for readers that also bring the state up to date.
+     */
+    final <T> T update(Function<S, T> updater, T whenNotBuilt) {
+        lock.writeLock().lock();
+        try {
+            return state != null ? updater.apply(state) : whenNotBuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The published state without locking, or null before the first build; only for states
+     * that are safe to read while changes are applied.
+     */
+    final S current() {
+        return state;
+    }
+}
@@ -0,0 +1,121 @@
+package com.equipment.service;
+
+import com.equipment.model.RefreshToken;
+import com.equipment.repository.RefreshTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Issues and rotates opaque refresh tokens. Only their SHA-256 is stored. A refresh token can
+ * be exchanged exactly once; the replacement belongs to the same family. Presenting a token
+ * that was already exchanged means two parties hold it, so the whole family is revoked and
+ * both have to log in again.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final long refreshExpirationMs;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               @Value("${jwt.refresh-expiration:604800000}") long refreshExpirationMs) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.refreshExpirationMs = refreshExpirationMs;
+    }
+
+    /**
+     * Starts a new family for a fresh login and returns its first token.
+     */
+    public String issue(Integer benutzerId) {
+        return issue(benutzerId, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Exchanges a refresh token for the next one in its family.
+     *
+     * @return the user the token belongs to and the replacement token
+     * @throws BadCredentialsException if the token is unknown, expired, revoked or was already used
+     */
+    public Rotation rotate(String presented) {
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(presented))
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+
+        if (current.getRevokedAt() != null || current.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new BadCredentialsException("Refresh token expired or revoked");
+        }
+        // Only one of two concurrent exchanges of the same token gets past this update
+        if (refreshTokenRepository.markUsed(current.getId(), LocalDateTime.now()) == 0) {
+            refreshTokenRepository.revokeFamily(current.getFamilyId(), LocalDateTime.now());
+            log.warn("Refresh token reuse detected for user {}; revoked token family", current.getBenutzerId());
+            throw new BadCredentialsException("Refresh token already used");
+        }
+        return new Rotation(current.getBenutzerId(), issue(current.getBenutzerId(), current.getFamilyId()));
+    }
+
+    /**
+     * Revokes the family of the given token, e.g. on logout. Unknown tokens are ignored.
+     */
+    public void revokeFamily(String presented) {
+        refreshTokenRepository.findByTokenHash(hash(presented))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), LocalDateTime.now()));
+    }
+
+    /**
+     * Revokes every refresh token of the user, e.g. when the password or role changes.
+     */
+    public void revokeAll(Integer benutzerId) {
+        refreshTokenRepository.revokeAllForBenutzer(benutzerId, LocalDateTime.now());
+    }
+
+    public long getExpirationSeconds() {
+        return refreshExpirationMs / 1000;
+    }
+
+    @Scheduled(fixedDelayString = "${auth.refresh-token.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        try {
+            int purged = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+            log.debug("Purged {} expired refresh tokens", purged);
+        } catch (Exception e) {
+            log.warn("Failed to purge expired refresh tokens: {}", e.getMessage());
+        }
+    }
+
+    private String issue(Integer benutzerId, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(new RefreshToken(benutzerId, hash(token), familyId,
+                LocalDateTime.now().plusNanos(refreshExpirationMs * 1_000_000L)));
+        return token;
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public record Rotation(Integer benutzerId, String refreshToken) {}
+}
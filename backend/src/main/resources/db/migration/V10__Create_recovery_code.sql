@@ -0,0 +1,25 @@
+-- V10: One row per 2FA recovery code
+-- New codes have the form LOOKUP-SECRET. The lookup part is not secret and is indexed,
+-- so a login attempt verifies exactly one hash, and consuming a code deletes one row
+-- instead of rewriting a comma-joined list.
+
+CREATE TABLE IF NOT EXISTS recovery_code (
+ id bigint auto_increment primary key,
+ benutzer_id int not null,
+ lookup varchar(8) null,
+ code_hash varchar(255) not null,
+ created_at timestamp not null default current_timestamp,
+ unique key uk_recovery_code_lookup (benutzer_id, lookup),
+ constraint fk_recovery_code_benutzer foreign key (benutzer_id) references benutzer(id) on delete cascade
+)CHARACTER SET utf8mb4;
+
+-- Existing codes were issued without a lookup part. They are moved over with a NULL
+-- lookup and stay valid until used or replaced by a new set.
+INSERT INTO recovery_code (benutzer_id, lookup, code_hash)
+SELECT b.id, NULL, codes.code_hash
+FROM benutzer b,
+     JSON_TABLE(CONCAT('["', REPLACE(b.recovery_codes, ',', '","'), '"]'), '$[*]'
+                COLUMNS (code_hash varchar(255) PATH '$')) codes
+WHERE b.recovery_codes IS NOT NULL AND b.recovery_codes <> '' AND codes.code_hash <> '';
+
+ALTER TABLE benutzer DROP COLUMN recovery_codes;
@@ -0,0 +1,31 @@
+-- V11: Refresh tokens and access-token revocation
+-- Refresh tokens are opaque and stored as SHA-256 hashes. Each login starts a family;
+-- every refresh marks the presented token used and issues the next one in the family.
+-- Presenting a used token again means it was stolen, and the whole family is revoked.
+
+CREATE TABLE IF NOT EXISTS refresh_token (
+ id bigint auto_increment primary key,
+ benutzer_id int not null,
+ token_hash char(64) not null,
+ family_id char(36) not null,
+ expires_at timestamp not null,
+ used_at timestamp null,
+ revoked_at timestamp null,
+ created_at timestamp not null default current_timestamp,
+ unique key uk_refresh_token_hash (token_hash),
+ index idx_refresh_token_family (family_id),
+ index idx_refresh_token_benutzer (benutzer_id),
+ index idx_refresh_token_expires (expires_at),
+ constraint fk_refresh_token_benutzer foreign key (benutzer_id) references benutzer(id) on delete cascade
+)CHARACTER SET utf8mb4;
+
+-- Ids (jti) of access tokens revoked before they expire, e.g. on logout. Every replica
+-- keeps them in an in-memory Bloom filter, reloaded from here on startup and polled by id.
+CREATE TABLE IF NOT EXISTS revoked_token (
+ id bigint auto_increment primary key,
+ jti char(36) not null,
+ expires_at timestamp not null,
+ created_at timestamp not null default current_timestamp,
+ unique key uk_revoked_token_jti (jti),
+ index idx_revoked_token_expires (expires_at)
+)CHARACTER SET utf8mb4;
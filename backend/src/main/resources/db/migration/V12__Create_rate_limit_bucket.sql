@@ -0,0 +1,12 @@
+-- V12: Shared rate-limit counters
+-- Optional backend for the authentication rate limiter so all replicas enforce one limit.
+-- One row per key and fixed window; the limiter weighs the previous window to approximate
+-- a sliding window. Rows older than two windows are purged.
+
+CREATE TABLE IF NOT EXISTS rate_limit_bucket (
+ bucket_key varchar(191) not null,
+ window_start bigint not null,
+ hits int not null default 0,
+ primary key (bucket_key, window_start),
+ index idx_rate_limit_bucket_window (window_start)
+)CHARACTER SET utf8mb4;
@@ -0,0 +1,33 @@
+-- V13: FULLTEXT indexes for searchMode=FULLTEXT
+-- The ngram parser indexes every run of ngram_token_size characters (default 2), so
+-- MATCH ... AGAINST finds partial words like the LIKE '%term%' search it replaces.
+
+SET @dbname = DATABASE();
+
+SET @preparedStatement = (SELECT IF(
+    (
+        SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+        WHERE TABLE_SCHEMA = @dbname
+        AND TABLE_NAME = 'equipment'
+        AND INDEX_NAME = 'ft_equipment_search'
+    ) > 0,
+    'SELECT 1',
+    'CREATE FULLTEXT INDEX ft_equipment_search ON equipment(inventarnummer, bezeichnung, description) WITH PARSER ngram'
+));
+PREPARE stmt FROM @preparedStatement;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @preparedStatement = (SELECT IF(
+    (
+        SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+        WHERE TABLE_SCHEMA = @dbname
+        AND TABLE_NAME = 'benutzer'
+        AND INDEX_NAME = 'ft_benutzer_search'
+    ) > 0,
+    'SELECT 1',
+    'CREATE FULLTEXT INDEX ft_benutzer_search ON benutzer(benutzername, vorname, nachname, email) WITH PARSER ngram'
+));
+PREPARE stmt FROM @preparedStatement;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
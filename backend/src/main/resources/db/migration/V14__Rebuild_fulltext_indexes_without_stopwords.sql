@@ -0,0 +1,43 @@
+-- V14: Rebuild the V13 FULLTEXT indexes without a stopword list
+-- InnoDB's default stopwords include "a" and "i", and the ngram parser drops every token that
+-- contains a stopword, so bigrams like "la" or "ai" were never indexed and FULLTEXT searches
+-- missed items the LIKE search finds. The stopword setting is fixed when an index is created,
+-- so both indexes are dropped and created again with stopwords disabled for this session.
+
+SET @dbname = DATABASE();
+SET @previousStopwordSetting = @@SESSION.innodb_ft_enable_stopword;
+SET SESSION innodb_ft_enable_stopword = OFF;
+
+SET @preparedStatement = (SELECT IF(
+    (
+        SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+        WHERE TABLE_SCHEMA = @dbname
+        AND TABLE_NAME = 'equipment'
+        AND INDEX_NAME = 'ft_equipment_search'
+    ) > 0,
+    'DROP INDEX ft_equipment_search ON equipment',
+    'SELECT 1'
+));
+PREPARE stmt FROM @preparedStatement;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+CREATE FULLTEXT INDEX ft_equipment_search ON equipment(inventarnummer, bezeichnung, description) WITH PARSER ngram;
+
+SET @preparedStatement = (SELECT IF(
+    (
+        SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+        WHERE TABLE_SCHEMA = @dbname
+        AND TABLE_NAME = 'benutzer'
+        AND INDEX_NAME = 'ft_benutzer_search'
+    ) > 0,
+    'DROP INDEX ft_benutzer_search ON benutzer',
+    'SELECT 1'
+));
+PREPARE stmt FROM @preparedStatement;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+CREATE FULLTEXT INDEX ft_benutzer_search ON benutzer(benutzername, vorname, nachname, email) WITH PARSER ngram;
+
+SET SESSION innodb_ft_enable_stopword = @previousStopwordSetting;
@@ -0,0 +1,17 @@
+-- V6: Audit outbox
+-- Audit events are written here inside the business transaction and drained into
+-- logitem in batches by a background worker. The table only has its primary key,
+-- so the write on the borrow/return path avoids logitem's secondary index maintenance.
+
+CREATE TABLE IF NOT EXISTS audit_outbox (
+ id bigint auto_increment primary key,
+ action_type varchar(20) not null,
+ benutzername varchar(20) not null,
+ benutzer_id int null,
+ equipmentinventarnummer varchar(20) not null,
+ equipmentbezeichnung varchar(20) not null,
+ equipment_id int null,
+ ausleihdatum timestamp not null,
+ rueckgabedatum timestamp null,
+ created_at timestamp not null default current_timestamp
+)CHARACTER SET utf8mb4;
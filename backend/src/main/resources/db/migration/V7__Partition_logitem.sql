@@ -0,0 +1,37 @@
+-- V7: Time-partitioned audit log
+-- logitem is range-partitioned by created_at so each month's rows and index entries
+-- live in their own partition. Inserts only touch the newest partition's (small) index
+-- trees, and cold months can be moved out with a cheap DROP PARTITION instead of a
+-- large DELETE. Monthly partitions are added ahead of time and cold ones archived by
+-- LogItemPartitionMaintenance.
+
+-- Every unique key of a partitioned table must contain the partitioning column
+ALTER TABLE logitem DROP PRIMARY KEY, ADD PRIMARY KEY (id, created_at);
+
+-- Not used by any query; only cost on every insert
+DROP INDEX idx_logitem_rueckgabedatum ON logitem;
+
+-- Boundaries are epoch seconds (UTC). p_start holds everything before 2026-11-01;
+-- the maintenance job splits monthly partitions off p_max from there on.
+ALTER TABLE logitem PARTITION BY RANGE (UNIX_TIMESTAMP(created_at)) (
+ PARTITION p_start VALUES LESS THAN (1793491200),
+ PARTITION p_max VALUES LESS THAN MAXVALUE
+);
+
+-- Cold audit history, moved here partition by partition. Compressed and with only the
+-- indexes the history API needs.
+CREATE TABLE IF NOT EXISTS logitem_archive (
+ id int not null primary key,
+ action_type varchar(20) not null,
+ benutzername varchar(20) not null,
+ benutzer_id int null,
+ equipmentinventarnummer varchar(20) not null,
+ equipmentbezeichnung varchar(20) not null,
+ equipment_id int null,
+ ausleihdatum timestamp not null,
+ rueckgabedatum timestamp null,
+ created_at timestamp not null,
+ index idx_logitem_archive_ausleihdatum (ausleihdatum, id),
+ index idx_logitem_archive_benutzer (benutzer_id),
+ index idx_logitem_archive_equipment (equipment_id)
+)CHARACTER SET utf8mb4 ROW_FORMAT=COMPRESSED KEY_BLOCK_SIZE=8;
@@ -0,0 +1,11 @@
+-- V8: Principal cache invalidation log
+-- Each replica caches authenticated users for a short time. When a user's account changes,
+-- a row is appended here in the same transaction; every replica polls for rows newer than
+-- the last id it has seen and evicts those users. Old rows are purged periodically.
+
+CREATE TABLE IF NOT EXISTS principal_invalidation (
+ id bigint auto_increment primary key,
+ benutzername varchar(20) not null,
+ created_at timestamp not null default current_timestamp,
+ index idx_principal_invalidation_created (created_at)
+)CHARACTER SET utf8mb4;
@@ -0,0 +1,6 @@
+-- V9: Token version
+-- Embedded in every JWT. Bumping it (role/status change, password reset) makes all
+-- previously issued tokens of the user stale without a per-request database lookup.
+
+ALTER TABLE benutzer
+    ADD COLUMN token_version INT NOT NULL DEFAULT 0 AFTER recovery_codes;
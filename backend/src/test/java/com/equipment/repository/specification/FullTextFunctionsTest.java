@@ -0,0 +1,43 @@
+package com.equipment.repository.specification;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FullTextFunctionsTest {
+
+    @Test
+    void requiresEveryWordAsAPhrase() {
+        assertThat(FullTextFunctions.booleanQuery("dell 18v")).contains("+\"dell\" +\"18v\"");
+    }
+
+    @Test
+    void stripsBooleanOperatorsSoInputIsSearchedLiterally() {
+        assertThat(FullTextFunctions.booleanQuery("+dell -hp (lenovo) \"asus\" ~acer <x> @sony*"))
+                .contains("+\"dell\" +\"hp\" +\"lenovo\" +\"asus\" +\"acer\" +\"sony\"");
+    }
+
+    @Test
+    void operatorsInsideAWordSplitIt() {
+        assertThat(FullTextFunctions.booleanQuery("usb-c")).contains("+\"usb\"");
+    }
+
+    @Test
+    void dropsWordsShorterThanTheNgramSize() {
+        assertThat(FullTextFunctions.booleanQuery("a dell b")).contains("+\"dell\"");
+    }
+
+    @Test
+    void keepsTwoCharacterWords() {
+        assertThat(FullTextFunctions.booleanQuery("la")).contains("+\"la\"");
+    }
+
+    @Test
+    void isEmptyWhenNothingCanBeMatchedSoCallersFallBackToLike() {
+        assertThat(FullTextFunctions.booleanQuery(null)).isEmpty();
+        assertThat(FullTextFunctions.booleanQuery("")).isEmpty();
+        assertThat(FullTextFunctions.booleanQuery("   ")).isEmpty();
+        assertThat(FullTextFunctions.booleanQuery("a b c")).isEmpty();
+        assertThat(FullTextFunctions.booleanQuery("+-*()")).isEmpty();
+    }
+}
@@ -0,0 +1,91 @@
+package com.equipment.repository.specification;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the migrations on MySQL and checks that the searchMode=FULLTEXT predicates are served by
+ * the ngram indexes and match the same partial words as the LIKE search. Skipped without Docker.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class FullTextIndexExplainTest {
+
+    // Same SQL as the MATCH_AGAINST_3 / MATCH_AGAINST_4 patterns registered by FullTextFunctions
+    private static final String EQUIPMENT_MATCH =
+            "match(inventarnummer, bezeichnung, description) against (? in boolean mode) > 0";
+    private static final String BENUTZER_MATCH =
+            "match(benutzername, vorname, nachname, email) against (? in boolean mode) > 0";
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void migrate() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword());
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        jdbcTemplate.update("INSERT INTO equipment (inventarnummer, bezeichnung, description) VALUES (?, ?, ?)",
+                "FT-0001", "Dell Laptop", "Business laptop with docking station");
+        jdbcTemplate.update("INSERT INTO equipment (inventarnummer, bezeichnung, description) VALUES (?, ?, ?)",
+                "FT-0002", "Kamera", "Mirrorless camera");
+        jdbcTemplate.update("INSERT INTO benutzer (benutzername, vorname, nachname, password_hash, password_salt) VALUES (?, ?, ?, ?, ?)",
+                "ftadmin", "Ada", "Admin", new byte[]{1}, new byte[]{1});
+    }
+
+    @Test
+    void equipmentSearchUsesTheFullTextIndex() {
+        Map<String, Object> plan = explain("SELECT id FROM equipment WHERE " + EQUIPMENT_MATCH, "+\"laptop\"");
+
+        assertThat(plan.get("type")).isEqualTo("fulltext");
+        assertThat(plan.get("key")).isEqualTo("ft_equipment_search");
+    }
+
+    @Test
+    void userSearchUsesTheFullTextIndex() {
+        Map<String, Object> plan = explain("SELECT id FROM benutzer WHERE " + BENUTZER_MATCH, "+\"admin\"");
+
+        assertThat(plan.get("type")).isEqualTo("fulltext");
+        assertThat(plan.get("key")).isEqualTo("ft_benutzer_search");
+    }
+
+    @Test
+    void bigramsContainingFormerStopwordsAreIndexed() {
+        // "la", "ka" and "ai" contain the default stopwords "a" and "i"
+        assertThat(matchingInventarnummern("+\"la\"")).containsExactly("FT-0001");
+        assertThat(matchingInventarnummern("+\"ka\"")).containsExactly("FT-0002");
+        assertThat(matchingInventarnummern("+\"kamera\"")).containsExactly("FT-0002");
+    }
+
+    @Test
+    void partialWordsMatchLikeTheLikeSearch() {
+        assertThat(matchingInventarnummern("+\"apto\"")).containsExactly("FT-0001");
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT inventarnummer FROM equipment WHERE lower(bezeichnung) LIKE '%apto%' AND inventarnummer LIKE 'FT-%'",
+                String.class)).containsExactly("FT-0001");
+    }
+
+    private static List<String> matchingInventarnummern(String booleanQuery) {
+        return jdbcTemplate.queryForList("SELECT inventarnummer FROM equipment WHERE " + EQUIPMENT_MATCH
+                + " AND inventarnummer LIKE 'FT-%' ORDER BY inventarnummer", String.class, booleanQuery);
+    }
+
+    private static Map<String, Object> explain(String sql, String booleanQuery) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("EXPLAIN " + sql, booleanQuery);
+        assertThat(rows).hasSize(1);
+        return rows.get(0);
+    }
+}
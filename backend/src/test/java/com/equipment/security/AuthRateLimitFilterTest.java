@@ -0,0 +1,112 @@
+package com.equipment.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthRateLimitFilterTest {
+
+    @Test
+    void keepsShortKeys() {
+        assertThat(AuthRateLimitFilter.boundedKey("user:admin")).isEqualTo("user:admin");
+    }
+
+    @Test
+    void hashesLongKeysToFitTheBucketColumn() {
+        String longName = "user:" + "a".repeat(5000);
+
+        String key = AuthRateLimitFilter.boundedKey(longName);
+
+        assertThat(key).startsWith("user:sha256:").hasSizeLessThanOrEqualTo(191);
+        assertThat(AuthRateLimitFilter.boundedKey(longName)).isEqualTo(key);
+        assertThat(AuthRateLimitFilter.boundedKey(longName + "b")).isNotEqualTo(key);
+    }
+
+    @Test
+    void replaysTheInspectedBodyToAsyncReaders() throws Exception {
+        AuthRateLimitFilter filter = new AuthRateLimitFilter(new ObjectMapper(), null, new SimpleMeterRegistry(),
+                true, 60_000, 30, 10, 1_000, false, false);
+        String body = "{\"benutzername\":\"admin\",\"password\":\"secret\"}";
+        ContainerInputStream original = new ContainerInputStream(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/benutzer/login") {
+            @Override
+            public ServletInputStream getInputStream() {
+                return original;
+            }
+        };
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        List<String> calls = new ArrayList<>();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            ServletInputStream in = req.getInputStream();
+            in.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    calls.add("data");
+                    while (in.isReady() && !in.isFinished()) {
+                        received.write(in.read());
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    calls.add("done");
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    calls.add("error");
+                }
+            });
+        });
+        // The filter consumed the whole body, so the container only reports the end of it
+        original.listener.onAllDataRead();
+
+        assertThat(received.toString(StandardCharsets.UTF_8)).isEqualTo(body);
+        assertThat(calls).containsExactly("data", "done");
+    }
+
+    // A request body the container has fully received
+    private static final class ContainerInputStream extends ServletInputStream {
+
+        private final ByteArrayInputStream bytes;
+        private ReadListener listener;
+
+        ContainerInputStream(byte[] body) {
+            this.bytes = new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public int read() {
+            return bytes.read();
+        }
+
+        @Override
+        public boolean isFinished() {
+            return bytes.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            this.listener = readListener;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.equipment.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdPollWindowTest {
+
+    @Test
+    void rowCommittedAfterAHigherIdIsStillSeenOnce() {
+        IdPollWindow window = new IdPollWindow(10);
+        window.reset(100);
+
+        // Poll 1 sees 102; 101 was allocated first but has not committed yet
+        assertThat(window.readAfter()).isEqualTo(90);
+        assertThat(window.markSeen(102)).isTrue();
+        window.prune();
+
+        // Poll 2 re-reads the window and now also returns 101
+        assertThat(window.readAfter()).isEqualTo(92);
+        assertThat(window.markSeen(101)).isTrue();
+        assertThat(window.markSeen(102)).isFalse();
+        window.prune();
+
+        assertThat(window.markSeen(101)).isFalse();
+        assertThat(window.markSeen(102)).isFalse();
+    }
+
+    @Test
+    void forgetsIdsBelowTheWindow() {
+        IdPollWindow window = new IdPollWindow(2);
+        window.reset(0);
+        for (long id = 1; id <= 10; id++) {
+            assertThat(window.markSeen(id)).isTrue();
+        }
+        window.prune();
+
+        assertThat(window.readAfter()).isEqualTo(8);
+        assertThat(window.markSeen(9)).isFalse();
+        assertThat(window.markSeen(10)).isFalse();
+        // Below the window; the poll query never returns it
+        assertThat(window.markSeen(5)).isFalse();
+    }
+
+    @Test
+    void isNotStartedUntilResetOrFirstRow() {
+        IdPollWindow window = new IdPollWindow(5);
+        assertThat(window.isStarted()).isFalse();
+        assertThat(window.readAfter()).isZero();
+
+        assertThat(window.markSeen(3)).isTrue();
+        assertThat(window.isStarted()).isTrue();
+    }
+}
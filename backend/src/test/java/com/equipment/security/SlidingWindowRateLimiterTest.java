@@ -0,0 +1,85 @@
+package com.equipment.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlidingWindowRateLimiterTest {
+
+    private static final long WINDOW = 60_000;
+    // A realistic clock, so window indexes use the upper half of the packed state
+    private static final long START = 1_760_000_000_000L / WINDOW * WINDOW;
+
+    @Test
+    void allowsTheLimitWithinOneWindow() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(3, WINDOW, 100, 4);
+
+        assertThat(acquired(limiter, "ip:10.0.0.1", START, 5)).isEqualTo(3);
+        assertThat(acquired(limiter, "ip:10.0.0.2", START, 5)).isEqualTo(3);
+    }
+
+    @Test
+    void weighsThePreviousWindowByItsRemainingOverlap() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(10, WINDOW, 100, 4);
+        acquired(limiter, "user:admin", START + WINDOW / 2, 10);
+
+        // Halfway into the next window the previous 10 still count as 5
+        assertThat(acquired(limiter, "user:admin", START + WINDOW + WINDOW / 2, 10)).isEqualTo(5);
+        // Two windows later nothing counts any more
+        assertThat(acquired(limiter, "user:admin", START + 3 * WINDOW, 20)).isEqualTo(10);
+    }
+
+    @Test
+    void countsSaturateAtTheWidthOfTheirPackedField() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(1_000_000, WINDOW, 100, 4);
+
+        assertThat(acquired(limiter, "ip:10.0.0.1", START, 70_000)).isEqualTo(0xFFFF);
+    }
+
+    @Test
+    void newKeysAreLetThroughUntrackedWhileTheStripeIsFull() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(1, WINDOW, 2, 1);
+        assertThat(limiter.tryAcquire("a", START)).isTrue();
+        assertThat(limiter.tryAcquire("b", START)).isTrue();
+
+        assertThat(acquired(limiter, "c", START, 3)).isEqualTo(3);
+        assertThat(limiter.tryAcquire("d", START)).isTrue();
+        assertThat(limiter.untracked()).isEqualTo(4);
+        // Tracked keys keep their limit
+        assertThat(limiter.tryAcquire("a", START)).isFalse();
+        assertThat(limiter.size()).isEqualTo(2);
+    }
+
+    @Test
+    void newKeysAreTrackedAgainOnceIdleKeysAreEvicted() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(1, WINDOW, 2, 1);
+        limiter.tryAcquire("a", START);
+        limiter.tryAcquire("b", START);
+        long later = START + 2 * WINDOW;
+
+        assertThat(limiter.evictIdle(later)).isEqualTo(2);
+        assertThat(limiter.tryAcquire("c", later)).isTrue();
+        assertThat(limiter.tryAcquire("c", later)).isFalse();
+        assertThat(limiter.untracked()).isZero();
+    }
+
+    @Test
+    void evictsKeysIdleForTwoWindows() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(5, WINDOW, 100, 4);
+        limiter.tryAcquire("a", START);
+        limiter.tryAcquire("b", START + WINDOW);
+
+        assertThat(limiter.evictIdle(START + 2 * WINDOW)).isEqualTo(1);
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+
+    private static int acquired(SlidingWindowRateLimiter limiter, String key, long now, int attempts) {
+        int allowed = 0;
+        for (int i = 0; i < attempts; i++) {
+            if (limiter.tryAcquire(key, now)) {
+                allowed++;
+            }
+        }
+        return allowed;
+    }
+}
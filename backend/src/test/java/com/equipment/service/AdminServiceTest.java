@@ -0,0 +1,65 @@
+package com.equipment.service;
+
+import com.equipment.dto.SearchMode;
+import com.equipment.dto.UpdateEquipmentRequest;
+import com.equipment.exception.EquipmentException;
+import com.equipment.model.Equipment;
+import com.equipment.model.EquipmentStatus;
+import com.equipment.repository.AusleiheRepository;
+import com.equipment.repository.BenutzerRepository;
+import com.equipment.repository.EquipmentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AdminServiceTest {
+
+    private final EquipmentRepository equipmentRepository = mock(EquipmentRepository.class);
+    private final AusleiheRepository ausleiheRepository = mock(AusleiheRepository.class);
+
+    private final AdminService adminService = new AdminService(equipmentRepository, ausleiheRepository,
+            mock(BenutzerRepository.class), mock(ApplicationEventPublisher.class), mock(OverdueLoanTracker.class),
+            mock(RefreshTokenService.class), mock(EquipmentSearchService.class), SearchMode.LIKE);
+
+    @Test
+    void refusesToMarkAnItemOnLoanAvailable() {
+        when(equipmentRepository.findAllByIdForUpdate(List.of(7))).thenReturn(List.of(equipment(EquipmentStatus.BORROWED)));
+        when(ausleiheRepository.existsByEquipmentId(7)).thenReturn(true);
+
+        assertThatThrownBy(() -> adminService.updateEquipment(7, statusUpdate(EquipmentStatus.AVAILABLE)))
+                .isInstanceOf(EquipmentException.class);
+        verify(equipmentRepository, never()).save(any());
+    }
+
+    @Test
+    void marksAnItemWithoutLoanAvailable() {
+        when(equipmentRepository.findAllByIdForUpdate(List.of(7))).thenReturn(List.of(equipment(EquipmentStatus.MAINTENANCE)));
+        when(equipmentRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Equipment saved = adminService.updateEquipment(7, statusUpdate(EquipmentStatus.AVAILABLE));
+
+        assertThat(saved.getStatus()).isEqualTo(EquipmentStatus.AVAILABLE);
+    }
+
+    private static UpdateEquipmentRequest statusUpdate(EquipmentStatus status) {
+        UpdateEquipmentRequest request = new UpdateEquipmentRequest();
+        request.setStatus(status);
+        return request;
+    }
+
+    private static Equipment equipment(EquipmentStatus status) {
+        Equipment equipment = new Equipment();
+        equipment.setId(7);
+        equipment.setStatus(status);
+        return equipment;
+    }
+}
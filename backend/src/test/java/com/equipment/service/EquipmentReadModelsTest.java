@@ -0,0 +1,109 @@
+package com.equipment.service;
+
+import com.equipment.event.EquipmentChangedEvent;
+import com.equipment.model.Equipment;
+import com.equipment.model.EquipmentStatus;
+import com.equipment.repository.AusleiheRepository;
+import com.equipment.repository.EquipmentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EquipmentReadModelsTest {
+
+    private final EquipmentRepository equipmentRepository = mock(EquipmentRepository.class);
+    private final AusleiheRepository ausleiheRepository = mock(AusleiheRepository.class);
+
+    private AvailableEquipmentSnapshot snapshot;
+    private EquipmentTypeaheadIndex typeahead;
+    private EquipmentReadModels readModels;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        snapshot = new AvailableEquipmentSnapshot(ausleiheRepository, registry);
+        typeahead = new EquipmentTypeaheadIndex(registry);
+        readModels = new EquipmentReadModels(equipmentRepository, List.of(snapshot, typeahead));
+    }
+
+    @AfterEach
+    void tearDown() {
+        readModels.shutdown();
+    }
+
+    @Test
+    void refreshReadsTheTableOnceForAllViews() {
+        when(equipmentRepository.findAll()).thenReturn(List.of(
+                equipment(1, "Dell Laptop", EquipmentStatus.AVAILABLE),
+                equipment(2, "Beamer", EquipmentStatus.BORROWED),
+                equipment(3, "Kamera", EquipmentStatus.AVAILABLE)));
+        when(ausleiheRepository.findAllEquipmentIdsOnLoan()).thenReturn(List.of(3));
+
+        readModels.refresh();
+
+        verify(equipmentRepository, times(1)).findAll();
+        assertThat(snapshot.getAvailable()).hasValueSatisfying(items ->
+                assertThat(items).extracting(Equipment::getId).containsExactly(1));
+        assertThat(typeahead.suggest("be", 10)).hasValueSatisfying(items -> assertThat(items).hasSize(1));
+    }
+
+    @Test
+    void changeCommittedDuringTheLoadIsReplayedOntoTheRebuiltViews() {
+        when(equipmentRepository.findAll()).thenAnswer(invocation -> {
+            // Committed after the table was read, so the loaded rows do not contain it
+            readModels.onEquipmentChanged(EquipmentChangedEvent.saved(equipment(9, "Monitor", EquipmentStatus.AVAILABLE)));
+            return List.of(equipment(1, "Dell Laptop", EquipmentStatus.AVAILABLE));
+        });
+
+        readModels.refresh();
+
+        assertThat(snapshot.getAvailable()).hasValueSatisfying(items ->
+                assertThat(items).extracting(Equipment::getId).containsExactly(1, 9));
+        assertThat(typeahead.suggest("mon", 10)).hasValueSatisfying(items -> assertThat(items).hasSize(1));
+    }
+
+    @Test
+    void bulkChangeRefreshesOffTheCallingThread() throws InterruptedException {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(equipmentRepository.findAll()).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(equipment(1, "Dell Laptop", EquipmentStatus.AVAILABLE));
+        });
+
+        readModels.onEquipmentChanged(EquipmentChangedEvent.bulk());
+        readModels.onEquipmentChanged(EquipmentChangedEvent.bulk());
+
+        // The caller returned while the load is still blocked
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(snapshot.getAvailable()).isEmpty();
+        release.countDown();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (snapshot.getAvailable().isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(snapshot.getAvailable()).isPresent();
+    }
+
+    private static Equipment equipment(int id, String bezeichnung, EquipmentStatus status) {
+        Equipment equipment = new Equipment();
+        equipment.setId(id);
+        equipment.setInventarnummer("INV-" + id);
+        equipment.setBezeichnung(bezeichnung);
+        equipment.setStatus(status);
+        return equipment;
+    }
+}
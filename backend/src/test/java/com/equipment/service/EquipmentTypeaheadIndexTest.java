@@ -0,0 +1,123 @@
+package com.equipment.service;
+
+import com.equipment.dto.EquipmentSuggestion;
+import com.equipment.model.Equipment;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EquipmentTypeaheadIndexTest {
+
+    private SimpleMeterRegistry registry;
+    private EquipmentTypeaheadIndex index;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        index = new EquipmentTypeaheadIndex(registry);
+        index.beginRebuild();
+        index.publish(index.build(List.of()));
+        index.endRebuild();
+    }
+
+    @Test
+    void findsItemsByPrefixOfAnyWordInKeyOrder() {
+        put(1, "INV-002", "Dell Laptop");
+        put(2, "INV-001", "Lenovo Laptop");
+        put(3, "CAM-001", "Kamera");
+
+        assertThat(ids("inv-00")).containsExactly(2, 1);
+        assertThat(ids("lap")).containsExactlyInAnyOrder(1, 2);
+        assertThat(ids("LE")).containsExactly(2);
+        assertThat(ids("x")).isEmpty();
+    }
+
+    @Test
+    void prefixEndingInsideAnEdgeStillMatches() {
+        put(1, "A-1", "Laptop");
+
+        assertThat(ids("lapt")).containsExactly(1);
+        assertThat(ids("lapx")).isEmpty();
+        assertThat(ids("laptops")).isEmpty();
+    }
+
+    @Test
+    void deletingABranchMergesTheSplitEdgeBack() {
+        put(1, "A-1", "Laptop");
+        put(2, "A-2", "Lamp");
+        put(3, "A-3", "Lan Switch");
+
+        remove(2);
+        assertThat(ids("lam")).isEmpty();
+        assertThat(ids("la")).containsExactlyInAnyOrder(1, 3);
+        assertThat(ids("lap")).containsExactly(1);
+
+        remove(3);
+        // Only "laptop" is left under "la"; the split node is merged into one edge again
+        assertThat(ids("la")).containsExactly(1);
+        assertThat(ids("lan")).isEmpty();
+        assertThat(ids("switch")).isEmpty();
+
+        put(4, "A-4", "Lamp");
+        assertThat(ids("lam")).containsExactly(4);
+        assertThat(ids("lap")).containsExactly(1);
+    }
+
+    @Test
+    void removingEveryItemLeavesNoKeys() {
+        put(1, "A-1", "Dell Laptop");
+        put(2, "A-2", "Dell Monitor");
+        assertThat(keys()).isEqualTo(6);
+
+        remove(1);
+        remove(2);
+
+        assertThat(keys()).isZero();
+        assertThat(ids("")).isEmpty();
+    }
+
+    @Test
+    void savingAnItemReplacesItsOldKeys() {
+        put(1, "A-1", "Beamer");
+
+        put(1, "A-1", "Projektor");
+
+        assertThat(ids("bea")).isEmpty();
+        assertThat(ids("pro")).containsExactly(1);
+    }
+
+    @Test
+    void stopsAtTheLimit() {
+        for (int i = 0; i < 10; i++) {
+            put(i, "INV-" + i, "Kabel");
+        }
+
+        assertThat(ids("kab")).hasSize(10);
+        assertThat(index.suggest("kab", 3)).hasValueSatisfying(s -> assertThat(s).hasSize(3));
+    }
+
+    private void put(int id, String inventarnummer, String bezeichnung) {
+        Equipment equipment = new Equipment();
+        equipment.setId(id);
+        equipment.setInventarnummer(inventarnummer);
+        equipment.setBezeichnung(bezeichnung);
+        index.record(id, Optional.of(equipment));
+    }
+
+    private void remove(int id) {
+        index.record(id, Optional.empty());
+    }
+
+    private List<Integer> ids(String prefix) {
+        return index.suggest(prefix, 100).orElseThrow().stream().map(EquipmentSuggestion::getId).toList();
+    }
+
+    private double keys() {
+        return registry.get("equipment.typeahead.keys").gauge().value();
+    }
+}
@@ -0,0 +1,49 @@
+package com.equipment.service;
+
+import com.equipment.exception.EquipmentException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    @Test
+    void decodesTheEncodedValues() {
+        String cursor = KeysetCursor.encode("createdAt", "DESC", LocalDateTime.of(2026, 1, 2, 3, 4, 5), 17);
+
+        assertThat(KeysetCursor.decode(cursor, 4)).containsExactly("createdAt", "DESC", "2026-01-02T03:04:05", "17");
+    }
+
+    @Test
+    void nullValuesBecomeEmptyParts() {
+        assertThat(KeysetCursor.decode(KeysetCursor.encode("location", null, 3), 3)).containsExactly("location", "", "3");
+    }
+
+    @Test
+    void cursorIsUrlSafe() {
+        String cursor = KeysetCursor.encode("bezeichnung", "ASC", "Kamera ÄÖÜ ~?/+=", 123456);
+
+        assertThat(cursor).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void rejectsCursorsWithTheWrongNumberOfParts() {
+        String cursor = KeysetCursor.encode("id", "ASC", 5);
+
+        assertThatThrownBy(() -> KeysetCursor.decode(cursor, 4))
+                .isInstanceOfSatisfying(EquipmentException.class, e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    @Test
+    void rejectsCursorsThatAreNotBase64() {
+        assertThatThrownBy(() -> KeysetCursor.decode("not a cursor!", 4))
+                .isInstanceOfSatisfying(EquipmentException.class, e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST));
+        assertThatThrownBy(() -> KeysetCursor.decode(Base64.getEncoder().encodeToString("a\u001Fb".getBytes()), 4))
+                .isInstanceOf(EquipmentException.class);
+    }
+}
@@ -5,10 +5,11 @@ import {
     deleteEquipment,
     getCurrentLoans,
     getLoanHistory,
-    deleteUser
+    deleteUser,
+    downloadAdminExport
 } from './api.js';
 import notifications from './notifications.js';
-import { exportToCSV, flattenEquipmentData, flattenLoanData, flattenUserData } from './export.js';
+import { exportToCSV, downloadBlob, flattenEquipmentData } from './export.js';
 
 // Global state
 let currentSection = 'overview';
@@ -142,10 +143,11 @@ function setupEventListeners() {
 
     const exportUsersBtn = document.getElementById('export-users-csv');
     if (exportUsersBtn) {
-        exportUsersBtn.addEventListener('click', () => {
+        exportUsersBtn.addEventListener('click', async () => {
             try {
-                const flattened = flattenUserData(allUsers);
-                exportToCSV(flattened, `users-export-${new Date().toISOString().split('T')[0]}.csv`);
+                // Streamed by the server so the export covers every user, not just the loaded page
+                const blob = await downloadAdminExport('users', 'csv');
+                downloadBlob(blob, `users-export-${new Date().toISOString().split('T')[0]}.csv`);
                 notifications.success('Users data exported successfully!');
             } catch (error) {
                 notifications.error('Failed to export users: ' + error.message);
@@ -155,10 +157,10 @@ function setupEventListeners() {
 
     const exportLoansBtn = document.getElementById('export-loans-admin-csv');
     if (exportLoansBtn) {
-        exportLoansBtn.addEventListener('click', () => {
+        exportLoansBtn.addEventListener('click', async () => {
             try {
-                const flattened = flattenLoanData(allLoans);
-                exportToCSV(flattened, `loans-admin-export-${new Date().toISOString().split('T')[0]}.csv`);
+                const blob = await downloadAdminExport('loans', 'csv');
+                downloadBlob(blob, `loans-admin-export-${new Date().toISOString().split('T')[0]}.csv`);
                 notifications.success('Loans data exported successfully!');
             } catch (error) {
                 notifications.error('Failed to export loans: ' + error.message);
@@ -5,25 +5,78 @@ import { API_BASE_URL } from './config.js';
 const baseUrl = `${API_BASE_URL}/benutzer`;
 const adminBaseUrl = `${API_BASE_URL}/admin`;
 
-function getAuthorizationToken() {
-    const token = sessionStorage.getItem("authentication_token");
+// Refresh a little before expiry so a request does not reach the server with a token that just ran out
+const TOKEN_REFRESH_MARGIN_MS = 30 * 1000;
+
+let refreshInFlight = null;
+
+async function getAuthorizationToken() {
+    let token = sessionStorage.getItem("authentication_token");
     if (token) {
         const decodedToken = decodeToken(token);
-        if (decodedToken && decodedToken.exp * 1000 < Date.now()) {
-            // Token is expired
-            sessionStorage.removeItem("authentication_token");
-            loadPage("login");
-            throw new Error("Session expired. Please log in again.");
+        if (decodedToken && decodedToken.exp * 1000 - TOKEN_REFRESH_MARGIN_MS < Date.now()) {
+            // Token is (about to be) expired; exchange the refresh token for a new one
+            token = await refreshAccessToken();
+            if (!token) {
+                endSession();
+                throw new Error("Session expired. Please log in again.");
+            }
         }
         return "Bearer " + token;
     }
     return null;
 }
 
+// Refresh tokens are single-use, so concurrent requests share one refresh call
+function refreshAccessToken() {
+    if (!refreshInFlight) {
+        refreshInFlight = doRefreshAccessToken().finally(() => {
+            refreshInFlight = null;
+        });
+    }
+    return refreshInFlight;
+}
+
+async function doRefreshAccessToken() {
+    const refreshToken = sessionStorage.getItem("refresh_token");
+    if (!refreshToken) {
+        return null;
+    }
+    try {
+        const response = await fetch(baseUrl + "/token/refresh", {
+            method: "POST",
+            headers: {
+                "Content-Type": "application/json"
+            },
+            body: JSON.stringify({ refreshToken })
+        });
+        if (!response.ok) {
+            return null;
+        }
+        const data = await response.json();
+        storeSession(data);
+        return data.token;
+    } catch (error) {
+        return null;
+    }
+}
+
+export function storeSession(data) {
+    sessionStorage.setItem("authentication_token", data.token);
+    if (data.refreshToken) {
+        sessionStorage.setItem("refresh_token", data.refreshToken);
+    }
+}
+
+function endSession() {
+    sessionStorage.removeItem("authentication_token");
+    sessionStorage.removeItem("refresh_token");
+    loadPage("login");
+}
+
 function handleAuthError(response) {
     if (response.status === 401) {
-        sessionStorage.removeItem("authentication_token");
-        loadPage("login");
+        endSession();
         throw new Error("Session expired. Please log in again.");
     }
     return response;
@@ -82,6 +135,29 @@ export async function resetPassword(username, newPassword) {
     });
 }
 
+// Revokes the current access token and the refresh token on the server; best effort
+export async function logoutUser() {
+    const token = sessionStorage.getItem("authentication_token");
+    const refreshToken = sessionStorage.getItem("refresh_token");
+    if (!token && !refreshToken) {
+        return;
+    }
+    // The access token may have expired while idle; the server revokes the refresh token from the body regardless
+    const headers = { "Content-Type": "application/json" };
+    if (token) {
+        headers["Authorization"] = "Bearer " + token;
+    }
+    try {
+        await fetch(baseUrl + "/logout", {
+            method: "POST",
+            headers,
+            body: JSON.stringify({ refreshToken })
+        });
+    } catch (error) {
+        // The session is cleared locally either way
+    }
+}
+
 // ============================================
 // Two-Factor Authentication
 // ============================================
@@ -90,7 +166,7 @@ export async function enableTwoFactor() {
     const response = await fetch(baseUrl + "/2fa/enable", {
         method: "POST",
         headers: {
-            "Authorization": getAuthorizationToken(),
+            "Authorization": await getAuthorizationToken(),
             "Content-Type": "application/json"
         }
     });
@@ -105,7 +181,7 @@ export async function verifyTwoFactor(code) {
     const response = await fetch(baseUrl + "/2fa/verify", {
         method: "POST",
         headers: {
-            "Authorization": getAuthorizationToken(),
+            "Authorization": await getAuthorizationToken(),
             "Content-Type": "application/json"
         },
         body: JSON.stringify({ code })
@@ -121,7 +197,7 @@ export async function disableTwoFactor() {
     const response = await fetch(baseUrl + "/2fa/disable", {
         method: "POST",
         headers: {
-            "Authorization": getAuthorizationToken(),
+            "Authorization": await getAuthorizationToken(),
             "Content-Type": "application/json"
         }
     });
@@ -140,7 +216,7 @@ export async function getProfile() {
     const response = await fetch(baseUrl + "/profile", {
         method: "GET",
         headers: {
-            "Authorization": getAuthorizationToken(),
+            "Authorization": await getAuthorizationToken(),
             "Content-Type": "application/json"
         }
     });
@@ -155,7 +231,7 @@ export async function updateProfile(profileData) {
     const response = await fetch(baseUrl + "/profile", {
         method: "PUT",
         headers: {
-            "Authorization": getAuthorizationToken(),
+            "Authorization": await getAuthorizationToken(),
             "Content-Type": "application/json"
         },
         body: JSON.stringify(profileData)
@@ -176,7 +252,7 @@ export async function getAvailableEquipment() {
     const response = await fetch(baseUrl + "/equipment", {
         method: "GET",
         headers: {
-            "Authorization": getAuthorizationToken(),
+            "Authorization": await getAuthorizationToken(),
             "Content-Type": "application/json"
         }
     });
@@ -203,7 +279,7 @@ export async function searchEquipment(searchParams = {}) {
     const response = await fetch(baseUrl + "/equipment/search?" + queryParams.toString(), {
         method: "GET",
         headers: {
-            "Authorization": getAuthorizationToken(),
+            "Authorization": await getAuthorizationToken(),
             "Content-Type": "application/json"
         }
     });
@@ -214,11 +290,49 @@ export async function searchEquipment(searchParams = {}) {
     return await response.json();
 }
 
+export async function getEquipmentFacets(searchParams = {}) {
+    const queryParams = new URLSearchParams();
+
+    if (searchParams.category) queryParams.append("category", searchParams.category);
+    if (searchParams.status) queryParams.append("status", searchParams.status);
+    if (searchParams.conditionStatus) queryParams.append("conditionStatus", searchParams.conditionStatus);
+    if (searchParams.location) queryParams.append("location", searchParams.location);
+
+    const response = await fetch(baseUrl + "/equipment/facets?" + queryParams.toString(), {
+        method: "GET",
+        headers: {
+            "Authorization": await getAuthorizationToken(),
+            "Content-Type": "application/json"
+        }
+    });
+    handleAuthError(response);
+    if (!response.ok) {
+        throw new Error("Failed to load equipment counts");
+    }
+    return await response.json();
+}
+
+export async function suggestEquipment(prefix, limit = 10) {
+    const queryParams = new URLSearchParams({ q: prefix, limit });
+    const response = await fetch(baseUrl + "/equipment/suggest?" + queryParams.toString(), {
+        method: "GET",
+        headers: {
+            "Authorization": await getAuthorizationToken(),
+            "Content-Type": "application/json"
+        }
+    });
+    handleAuthError(response);
+    if (!response.ok) {
+        throw new Error("Failed to load suggestions");
+    }
+    return await response.json();
+}
+
 export async function getMyBorrowedEquipment() {
     const response = await fetch(baseUrl + "/ausleihen", {
         method: "GET",
         headers: {
-            "Authorization": getAuthorizationToken(),
+            "Authorization": await getAuthorizationToken(),
             "Content-Type": "application/json"
         }
     });
@@ -235,7 +349,7 @@ export async function borrowEquipment(equipmentId, expectedReturnDate = null) {
     const response = await fetch(baseUrl + "/ausleihen/" + equipmentId, {
         method: "POST",
         headers: {
-            "Authorization": getAuthorizationToken(),
+            "Authorization": await getAuthorizationToken(),
             "Content-Type": "application/json"
         },
         body: Object.keys(body).length > 0 ? JSON.stringify(body) : undefined
@@ -252,7 +366,7 @@ export async function returnEquipment(equipmentId) {
     const response = await fetch(baseUrl + "/rueckgabe/" + equipmentId, {
         method: "POST",
         headers: {
-            "Authorization": getAuthorizationToken(),
+            "Authorization": await getAuthorizationToken(),
             "Content-Type": "application/json"
         }
     });
@@ -272,7 +386,7 @@ export async function getAllUsers() {
     const response = await fetch(adminBaseUrl + "/users", {
         method: "GET",
         headers: {
-            "Authorization": getAuthorizationToken(),
+            "Authorization": await getAuthorizationToken(),
             "Content-Type": "application/json"
         }
     });
@@ -297,7 +411,7 @@ export async function searchUsers(searchParams = {}) {
     const response = await fetch(adminBaseUrl + "/users/search?" + queryParams.toString(), {
         method: "GET",
         headers: {
-            "Authorization": getAuthorizationToken(),
+            "Authorization": await getAuthorizationToken(),
             "Content-Type": "application/json"
         }
     });
@@ -312,7 +426,7 @@ export async function updateUser(userId, updateData) {
     const response = await fetch(adminBaseUrl + "/users/" + userId, {
         method: "PUT",
         headers: {
-            "Authorization": getAuthorizationToken(),
+            "Authorization": await getAuthorizationToken(),
             "Content-Type": "application/json"
         },
         body: JSON.stringify(updateData)
@@ -329,7 +443,7 @@ export async function deleteUser(userId) {
     const response = await fetch(adminBaseUrl + "/users/" + userId, {
         method: "DELETE",
         headers: {
-            "Authorization": getAuthorizationToken(),
+            "Authorization": await getAuthorizationToken(),
             "Content-Type": "application/json"
         }
     });
@@ -346,7 +460,7 @@ export async function getAllEquipment() {
     const response = await fetch(adminBaseUrl + "/equipment", {
         method: "GET",
         headers: {
-            "Authorization": getAuthorizationToken(),
+            "Authorization": await getAuthorizationToken(),
             "Content-Type": "application/json"
         }
     });
@@ -373,7 +487,7 @@ export async function searchEquipmentAdmin(searchParams = {}) {
     const response = await fetch(adminBaseUrl + "/equipment/search?" + queryParams.toString(), {
         method: "GET",
         headers: {
-            "Authorization": getAuthorizationToken(),
+            "Authorization": await getAuthorizationToken(),
             "Content-Type": "application/json"
         }
     });
@@ -388,7 +502,7 @@ export async function addEquipment(equipmentData) {
     const response = await fetch(adminBaseUrl + "/equipment", {
         method: "POST",
         headers: {
-            "Authorization": getAuthorizationToken(),
+            "Authorization": await getAuthorizationToken(),
             "Content-Type": "application/json"
         },
         body: JSON.stringify(equipmentData)
@@ -405,7 +519,7 @@ export async function updateEquipment(equipmentId, updateData) {
     const response = await fetch(adminBaseUrl + "/equipment/" + equipmentId, {
         method: "PUT",
         headers: {
-            "Authorization": getAuthorizationToken(),
+            "Authorization": await getAuthorizationToken(),
             "Content-Type": "application/json"
         },
         body: JSON.stringify(updateData)
@@ -422,7 +536,7 @@ export async function deleteEquipment(equipmentId) {
     const response = await fetch(adminBaseUrl + "/equipment/" + equipmentId, {
         method: "DELETE",
         headers: {
-            "Authorization": getAuthorizationToken(),
+            "Authorization": await getAuthorizationToken(),
             "Content-Type": "application/json"
         }
     });
@@ -439,7 +553,7 @@ export async function getCurrentLoans() {
     const response = await fetch(adminBaseUrl + "/ausleihen/current", {
         method: "GET",
         headers: {
-            "Authorization": getAuthorizationToken(),
+            "Authorization": await getAuthorizationToken(),
             "Content-Type": "application/json"
         }
     });
@@ -450,11 +564,22 @@ export async function getCurrentLoans() {
     return await response.json();
 }
 
-export async function getLoanHistory() {
-    const response = await fetch(adminBaseUrl + "/ausleihen/history", {
+// Returns one page: { items, nextCursor, hasNext }. Pass nextCursor back as cursor for the next page.
+export async function getLoanHistory(historyParams = {}) {
+    const queryParams = new URLSearchParams();
+
+    if (historyParams.benutzerId) queryParams.append("benutzerId", historyParams.benutzerId);
+    if (historyParams.equipmentId) queryParams.append("equipmentId", historyParams.equipmentId);
+    if (historyParams.action) queryParams.append("action", historyParams.action);
+    if (historyParams.from) queryParams.append("from", historyParams.from);
+    if (historyParams.to) queryParams.append("to", historyParams.to);
+    if (historyParams.cursor) queryParams.append("cursor", historyParams.cursor);
+    if (historyParams.size !== undefined) queryParams.append("size", historyParams.size);
+
+    const response = await fetch(adminBaseUrl + "/ausleihen/history?" + queryParams.toString(), {
         method: "GET",
         headers: {
-            "Authorization": getAuthorizationToken(),
+            "Authorization": await getAuthorizationToken(),
             "Content-Type": "application/json"
         }
     });
@@ -465,11 +590,25 @@ export async function getLoanHistory() {
     return await response.json();
 }
 
+export async function downloadAdminExport(dataset, format = "csv") {
+    const response = await fetch(adminBaseUrl + "/export/" + dataset + "?format=" + encodeURIComponent(format), {
+        method: "GET",
+        headers: {
+            "Authorization": await getAuthorizationToken()
+        }
+    });
+    handleAuthError(response);
+    if (!response.ok) {
+        throw new Error("Failed to export " + dataset);
+    }
+    return await response.blob();
+}
+
 export async function getOverdueLoans() {
     const response = await fetch(adminBaseUrl + "/ausleihen/overdue", {
         method: "GET",
         headers: {
-            "Authorization": getAuthorizationToken(),
+            "Authorization": await getAuthorizationToken(),
             "Content-Type": "application/json"
         }
     });
@@ -1,4 +1,4 @@
-import { searchEquipment, getMyBorrowedEquipment, borrowEquipment, returnEquipment } from './api.js';
+import { searchEquipment, suggestEquipment, getEquipmentFacets, getMyBorrowedEquipment, borrowEquipment, returnEquipment } from './api.js';
 import { decodeToken } from './utilities.js';
 import notifications from './notifications.js';
 import { exportToCSV, flattenEquipmentData, flattenLoanData } from './export.js';
@@ -45,12 +45,39 @@ function displayUserInfo() {
     }
 }
 
+// Typeahead: suggestions are served from memory, so they are fetched on every keystroke
+let suggestionRequest = 0;
+async function updateSuggestions(prefix) {
+    const datalist = document.getElementById('equipment-suggestions');
+    if (!datalist) return;
+    const requestId = ++suggestionRequest;
+    if (prefix.trim().length < 2) {
+        datalist.innerHTML = '';
+        return;
+    }
+    try {
+        const suggestions = await suggestEquipment(prefix.trim(), 8);
+        // Drop answers to keystrokes that have since been superseded
+        if (requestId !== suggestionRequest) return;
+        datalist.innerHTML = '';
+        suggestions.forEach(s => {
+            const option = document.createElement('option');
+            option.value = s.bezeichnung;
+            option.label = `${s.inventarnummer}${s.serialNumber ? ' / ' + s.serialNumber : ''}`;
+            datalist.appendChild(option);
+        });
+    } catch (error) {
+        console.error('Error loading suggestions:', error);
+    }
+}
+
 function setupEventListeners() {
     // Search input with debounce
     const searchInput = document.getElementById('equipment-search');
     if (searchInput) {
         let searchTimeout;
         searchInput.addEventListener('input', (e) => {
+            updateSuggestions(e.target.value);
             clearTimeout(searchTimeout);
             searchTimeout = setTimeout(() => {
                 searchParams.searchTerm = e.target.value;
@@ -149,6 +176,27 @@ function updateStats() {
     }
 }
 
+// Shows the number of matching items next to each option of the category and status filters
+async function updateFacetCounts() {
+    try {
+        const facets = await getEquipmentFacets(searchParams);
+        annotateOptions('equipment-category-filter', facets.category);
+        annotateOptions('equipment-status-filter', facets.status);
+    } catch (error) {
+        console.error('Error loading facet counts:', error);
+    }
+}
+
+function annotateOptions(selectId, counts) {
+    const select = document.getElementById(selectId);
+    if (!select || !counts) return;
+    Array.from(select.options).forEach(option => {
+        if (!option.value) return;
+        if (!option.dataset.label) option.dataset.label = option.textContent;
+        option.textContent = `${option.dataset.label} (${counts[option.value] ?? 0})`;
+    });
+}
+
 async function loadAvailableEquipment() {
     const loadingEl = document.getElementById('equipment-loading');
     const grid = document.getElementById("available-equipment-grid");
@@ -166,6 +214,7 @@ async function loadAvailableEquipment() {
         updateStats();
         renderAvailableGrid();
         renderPagination();
+        updateFacetCounts();
     } catch (error) {
         console.error("Failed to load equipment", error);
         notifications.error("Failed to load equipment: " + error.message);
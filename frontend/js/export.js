@@ -71,7 +71,7 @@ function getNestedValue(obj, path) {
     return value === null || value === undefined ? '' : value;
 }
 
-function downloadBlob(blob, filename) {
+export function downloadBlob(blob, filename) {
     const url = URL.createObjectURL(blob);
     const link = document.createElement('a');
     link.href = url;
@@ -1,4 +1,4 @@
-import { loginUser } from "./api.js";
+import { loginUser, storeSession } from "./api.js";
 import { loadPage } from "./router.js";
 import { hideNavbar, removeInvalidState, setFieldInvalid } from "./utilities.js";
 
@@ -28,8 +28,7 @@ async function login() {
 
             if (response.ok) {
                 const data = await response.json();
-                const token = data.token;
-                sessionStorage.setItem("authentication_token", token);
+                storeSession(data);
                 loadPage("equipments-dashboard");
             } else {
                 // Parse the error response
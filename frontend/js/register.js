@@ -1,6 +1,6 @@
 import { hideNavbar, setFieldInvalid, removeInvalidState } from "./utilities.js";
 import { loadPage } from "./router.js";
-import { registerUser, loginUser } from "./api.js";
+import { registerUser, loginUser, storeSession } from "./api.js";
 
 document.getElementById('register-script').onload = function () {
     hideNavbar();
@@ -34,8 +34,7 @@ async function register() {
                 if (loginResponse.ok) {
                     // Handle the login response (token is returned as a JSON object)
                     const loginData = await loginResponse.json(); // Parse the response as JSON
-                    const token = loginData.token; // Extract the token from the JSON object
-                    sessionStorage.setItem("authentication_token", token);
+                    storeSession(loginData); // Keep the access and refresh token for this session
 
                     // Redirect to the equipment dashboard
                     loadPage("equipments-dashboard");
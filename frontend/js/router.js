@@ -1,5 +1,6 @@
 import { initTheme } from './theme.js';
 import { decodeToken, showNavbar, hideNavbar } from './utilities.js';
+import { logoutUser } from './api.js';
 
 document.addEventListener("DOMContentLoaded", () => {
     initTheme();
@@ -33,7 +34,8 @@ export function loadPage(path) {
     const token = sessionStorage.getItem("authentication_token");
     if (token) {
         const decodedToken = decodeToken(token);
-        if (decodedToken && decodedToken.exp * 1000 < Date.now()) {
+        // An expired access token is renewed by the API layer as long as a refresh token is present
+        if (decodedToken && decodedToken.exp * 1000 < Date.now() && !sessionStorage.getItem("refresh_token")) {
             sessionStorage.removeItem("authentication_token");
             window.location.hash = "login";
             return;
@@ -110,7 +112,8 @@ function loadJS(route) {
     document.body.appendChild(scriptEle);
 }
 
-export function signOut() {
+export async function signOut() {
+    await logoutUser();
     sessionStorage.clear();
     window.location.hash = "login";
     window.location.reload(); // Full reload to clear state